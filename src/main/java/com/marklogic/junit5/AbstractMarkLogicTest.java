@@ -1,36 +1,69 @@
 package com.marklogic.junit5;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.Transaction;
+import com.marklogic.client.document.DocumentManager;
+import com.marklogic.client.document.DocumentPage;
+import com.marklogic.client.document.DocumentRecord;
+import com.marklogic.client.document.GenericDocumentManager;
+import com.marklogic.client.document.JSONDocumentManager;
+import com.marklogic.client.eval.ServerEvaluationCall;
 import com.marklogic.client.ext.helper.ClientHelper;
 import com.marklogic.client.ext.helper.LoggingObject;
-import com.marklogic.client.io.BytesHandle;
 import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.InputStreamHandle;
 import com.marklogic.client.io.JacksonHandle;
+import com.marklogic.client.io.SearchHandle;
 import com.marklogic.client.io.StringHandle;
+import com.marklogic.client.query.MatchDocumentSummary;
+import com.marklogic.client.query.QueryManager;
+import com.marklogic.client.query.StringQueryDefinition;
 import com.marklogic.test.unit.TestManager;
 import com.marklogic.test.unit.TestModule;
 import com.marklogic.test.unit.TestResult;
 import com.marklogic.test.unit.TestSuiteResult;
+import org.jdom2.Namespace;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Abstract base class for writing JUnit tests that depend on a connection to MarkLogic via a DatabaseClient. Provides
  * support for the following:
  * <ol>
- * <li>Delete all or a subset of documents in the test database before each test method runs</li>
+ * <li>Delete all or a subset of documents in the test database before each test method runs, or alternatively run
+ * each test method in a multi-statement transaction that is rolled back after the test method completes, or only
+ * delete the documents that each test method wrote, or restore a baseline set of fixture documents</li>
  * <li>Methods for reading XML or a document at a URI into an XmlNode object</li>
- * <li>Methods for making common assertions on collections, permissions, and document properties</li>
+ * <li>Methods for making common assertions on collections, permissions, and document properties, optionally served
+ * from a per-test cache of document metadata</li>
  * </ol>
  * <p>
  * This class depends on a DatabaseClient, and how that is provided must be defined by the subclass.
  * </p>
  */
+@ExtendWith(ParallelExecutionExtension.class)
 public abstract class AbstractMarkLogicTest extends LoggingObject {
 
 	/**
@@ -38,6 +71,39 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 */
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+	/**
+	 * Baselines are captured once per JVM, keyed on baseline name and database.
+	 */
+	private static final Map<String, FixtureBaseline> fixtureBaselines = new HashMap<>();
+
+	private static final Set<Class<?>> testClassesWithDocumentsDeleted = new HashSet<>();
+
+	/**
+	 * For dirty tracking; the timestamp of each database, keyed on database, as of when its documents were last deleted
+	 * in the current JVM. A document updated after this timestamp that still exists was not deleted as a tracked write.
+	 */
+	private static final Map<String, String> documentsDeletedTimestamps = new ConcurrentHashMap<>();
+
+	/**
+	 * Used to ensure that marklogic-unit-test modules in the same suite are not run concurrently.
+	 */
+	private static final Map<String, Object> markLogicUnitTestSuiteLocks = new ConcurrentHashMap<>();
+
+	/**
+	 * The maximum number of URIs to read in a single request via readDocuments.
+	 */
+	protected static final int BULK_READ_BATCH_SIZE = 100;
+
+	private Transaction transaction;
+
+	private boolean parallelExecutionEnabled;
+
+	private final Map<String, DocumentMetadataHandle> metadataCache = new ConcurrentHashMap<>();
+
+	private final WrittenUriTracker writtenUriTracker = new WrittenUriTracker(metadataCache::remove);
+
+	private final List<RemoteXmlNode> remoteXmlNodes = new ArrayList<>();
+
 	/**
 	 * Subclass must define how a connection is made to (presumably) the test database.
 	 *
@@ -46,12 +112,219 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	protected abstract DatabaseClient getDatabaseClient();
 
 	/**
-	 * Before a test method runs, delete all of the documents in the database that match the query defined by
-	 * getJavascriptForDeletingDocumentsBeforeTestRuns.
+	 * Before a test method runs, delete documents in the database via the DocumentCleaner returned by
+	 * getDocumentCleaner, or if that is null, delete all of the documents in the database that match the query defined
+	 * by getJavascriptForDeletingDocumentsBeforeTestRuns. This is skipped when transaction isolation is enabled, as
+	 * nothing a test method writes within its transaction outlives the test method. It is also skipped when dirty
+	 * tracking is enabled and no documents exist that a previous test method wrote without them being tracked. And if
+	 * a fixture baseline is being used, the baseline is restored instead.
 	 */
 	@BeforeEach
 	public void deleteDocumentsBeforeTestRuns() {
-		getDatabaseClient().newServerEval().javascript(getJavascriptForDeletingDocumentsBeforeTestRuns()).evalAs(String.class);
+		prepareDatabaseBeforeTestRuns();
+	}
+
+	/**
+	 * Prepares the database the same way as deleteDocumentsBeforeTestRuns, but only for the first test method that
+	 * runs in the current JVM for this test class. Intended for test classes - such as MarkLogicUnitTestsTest - whose
+	 * test methods do not depend on the database being cleaned up before each one runs, and which may run in
+	 * parallel, where deleting documents before each test method would delete documents that a concurrently running
+	 * test method depends on.
+	 */
+	protected void deleteDocumentsOncePerTestClass() {
+		synchronized (testClassesWithDocumentsDeleted) {
+			if (testClassesWithDocumentsDeleted.add(getClass())) {
+				prepareDatabaseBeforeTestRuns();
+			}
+		}
+	}
+
+	/**
+	 * For test classes whose test methods may run in parallel, such as MarkLogicUnitTestsTest: prepares the database
+	 * via deleteDocumentsOncePerTestClass if JUnit 5 parallel execution is enabled, and before every test method -
+	 * as deleteDocumentsBeforeTestRuns does by default - otherwise.
+	 */
+	protected void deleteDocumentsBeforeTestRunsUnlessParallel() {
+		if (isParallelExecutionEnabled()) {
+			deleteDocumentsOncePerTestClass();
+		} else {
+			prepareDatabaseBeforeTestRuns();
+		}
+	}
+
+	/**
+	 * @return true if the junit.jupiter.execution.parallel.enabled configuration parameter is true, as determined by
+	 * ParallelExecutionExtension before each test method
+	 */
+	protected boolean isParallelExecutionEnabled() {
+		return parallelExecutionEnabled;
+	}
+
+	void setParallelExecutionEnabled(boolean parallelExecutionEnabled) {
+		this.parallelExecutionEnabled = parallelExecutionEnabled;
+	}
+
+	private void prepareDatabaseBeforeTestRuns() {
+		if (isTransactionIsolationEnabled()) {
+			return;
+		}
+		if (getFixtureBaselineName() != null) {
+			prepareFixtureBaseline();
+			return;
+		}
+		if (isDirtyTrackingEnabled()) {
+			if (untrackedDocumentsExist()) {
+				deleteDocuments();
+				documentsDeletedTimestamps.put(buildDatabaseKey(getDatabaseClient()),
+					getDatabaseClient().newServerEval().xquery("xdmp:request-timestamp()").evalAs(String.class));
+			}
+			return;
+		}
+		deleteDocuments();
+	}
+
+	private void deleteDocuments() {
+		DocumentCleaner documentCleaner = getDocumentCleaner();
+		if (documentCleaner != null) {
+			documentCleaner.deleteDocuments(getDatabaseClient());
+		} else {
+			getDatabaseClient().newServerEval().javascript(getJavascriptForDeletingDocumentsBeforeTestRuns()).evalAs(String.class);
+		}
+	}
+
+	/**
+	 * The first time a baseline with the name returned by getFixtureBaselineName is needed in the current JVM,
+	 * documents are deleted as they normally would be, loadFixtureBaseline is invoked, and a FixtureBaseline is
+	 * captured. Every subsequent time, the captured FixtureBaseline is restored instead, which deletes documents
+	 * created after the baseline and restores baseline documents that were modified or deleted after the baseline.
+	 */
+	protected void prepareFixtureBaseline() {
+		DatabaseClient client = getDatabaseClient();
+		String key = buildFixtureBaselineKey(client);
+		synchronized (fixtureBaselines) {
+			FixtureBaseline baseline = fixtureBaselines.get(key);
+			if (baseline != null) {
+				baseline.restore(client);
+			} else {
+				deleteDocuments();
+				loadFixtureBaseline();
+				fixtureBaselines.put(key, FixtureBaseline.capture(client, isMergeTimestampSetForFixtureBaseline()));
+			}
+		}
+	}
+
+	/**
+	 * Forget the fixture baseline returned by getFixtureBaselineName, so that the next test using it loads it again,
+	 * and restore the merge timestamp of the database if capturing the baseline changed it. Typically invoked once
+	 * every test using the baseline has run.
+	 */
+	protected void discardFixtureBaseline() {
+		DatabaseClient client = getDatabaseClient();
+		FixtureBaseline baseline;
+		synchronized (fixtureBaselines) {
+			baseline = fixtureBaselines.remove(buildFixtureBaselineKey(client));
+		}
+		if (baseline != null) {
+			baseline.restoreMergeTimestamp(client);
+		}
+	}
+
+	private String buildFixtureBaselineKey(DatabaseClient client) {
+		return getFixtureBaselineName() + "@" + buildDatabaseKey(client);
+	}
+
+	private static String buildDatabaseKey(DatabaseClient client) {
+		return client.getHost() + ":" + client.getPort() + "/" + client.getDatabase();
+	}
+
+	/**
+	 * Override this to return a non-null name to use a fixture baseline - see prepareFixtureBaseline. Test classes
+	 * that return the same name share the same baseline; it is loaded once per JVM.
+	 *
+	 * @return
+	 */
+	protected String getFixtureBaselineName() {
+		return null;
+	}
+
+	/**
+	 * Override this to load the documents that constitute the fixture baseline returned by getFixtureBaselineName.
+	 */
+	protected void loadFixtureBaseline() {
+	}
+
+	/**
+	 * Restoring a fixture baseline depends on the database retaining fragments as of the baseline timestamp, e.g. via
+	 * a merge timestamp or a retain-until setting configured on the database. Override this to return true to have the
+	 * merge timestamp of the database set to the baseline timestamp when the baseline is captured. This requires the
+	 * admin role and is a persistent change to the database configuration; deleted fragments are retained after the JVM
+	 * exits until discardFixtureBaseline is invoked or the merge timestamp is reset by other means.
+	 *
+	 * @return
+	 */
+	protected boolean isMergeTimestampSetForFixtureBaseline() {
+		return false;
+	}
+
+	/**
+	 * Returns the DocumentCleaner used to delete documents before each test method runs. By default, a
+	 * QueryBatcherDocumentCleaner is returned if the test class is annotated with DeleteDocumentsWithQueryBatcher;
+	 * otherwise, null is returned and documents are deleted via a single eval request. A subclass can override this
+	 * to return a different DocumentCleaner.
+	 *
+	 * @return
+	 */
+	protected DocumentCleaner getDocumentCleaner() {
+		DeleteDocumentsWithQueryBatcher annotation = getClass().getAnnotation(DeleteDocumentsWithQueryBatcher.class);
+		return annotation != null ?
+			new QueryBatcherDocumentCleaner(annotation.batchSize(), annotation.threadCount(), annotation.collections()) :
+			null;
+	}
+
+	/**
+	 * If transaction isolation is enabled, open a multi-statement transaction before a test method runs.
+	 */
+	@BeforeEach
+	public void openTransactionBeforeTestRuns() {
+		if (isTransactionIsolationEnabled()) {
+			transaction = getDatabaseClient().openTransaction();
+		}
+	}
+
+	/**
+	 * Roll back the transaction opened by openTransactionBeforeTestRuns, if one exists, thereby discarding every
+	 * write that the test method made within the transaction.
+	 */
+	@AfterEach
+	public void rollbackTransactionAfterTestRuns() {
+		if (transaction != null) {
+			try {
+				transaction.rollback();
+			} finally {
+				transaction = null;
+			}
+		}
+	}
+
+	/**
+	 * Override this to return true so that each test method runs within a multi-statement transaction that is rolled
+	 * back after the test method completes, instead of deleting documents before each test method runs. The read and
+	 * assertion methods in this class all participate in the transaction; a test method must pass the Transaction
+	 * returned by getTransaction to any writes that it makes. Writes made outside of the transaction - e.g. by a
+	 * harmonize flow - are neither visible to the transaction nor rolled back.
+	 *
+	 * @return
+	 */
+	protected boolean isTransactionIsolationEnabled() {
+		return false;
+	}
+
+	/**
+	 * @return the transaction that the current test method is running within, or null if transaction isolation is not
+	 * enabled
+	 */
+	protected Transaction getTransaction() {
+		return transaction;
 	}
 
 	/**
@@ -61,6 +334,113 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 		return "declareUpdate(); cts.uris('', [], cts.trueQuery()).toArray().forEach(item => xdmp.documentDelete(item))";
 	}
 
+	/**
+	 * If dirty tracking is enabled, delete the documents that were written by the test method via a document manager
+	 * obtained from getDatabaseClient. The documents are deleted in a single request.
+	 */
+	@AfterEach
+	public void deleteWrittenDocumentsAfterTestRuns() {
+		if (!isDirtyTrackingEnabled() || isTransactionIsolationEnabled()) {
+			return;
+		}
+		Set<String> uris = writtenUriTracker.getUris();
+		writtenUriTracker.clear();
+		if (!uris.isEmpty()) {
+			String urisJson;
+			try {
+				urisJson = new ObjectMapper().writeValueAsString(uris);
+			} catch (JsonProcessingException ex) {
+				throw new RuntimeException("Unable to serialize URIs to delete: " + ex.getMessage(), ex);
+			}
+			getDatabaseClient().newServerEval()
+				.javascript("declareUpdate(); var uris; " +
+					"JSON.parse(uris).forEach(uri => { if (fn.docAvailable(uri)) { xdmp.documentDelete(uri); } })")
+				.addVariable("uris", urisJson)
+				.evalAs(String.class);
+		}
+	}
+
+	/**
+	 * Override this to return true so that only the documents written by a test method are deleted after the test
+	 * method completes, instead of deleting every document before each test method runs. Only writes made via a
+	 * document manager obtained from the DatabaseClient returned by getDatabaseClient are tracked, which requires
+	 * that getDatabaseClient pass its DatabaseClient to trackWrites. Before each test method runs, a single query
+	 * determines whether any document was updated without being tracked - e.g. via a server-side eval or a harmonize
+	 * flow - since documents were last deleted; if so, documents are deleted as they would be if dirty tracking were
+	 * not enabled. Documents that existed before then - e.g. reference data that is not deleted by the script returned
+	 * by getJavascriptForDeletingDocumentsBeforeTestRuns - are not counted. Documents are always deleted before the
+	 * first test method using dirty tracking runs in the current JVM.
+	 *
+	 * @return
+	 */
+	protected boolean isDirtyTrackingEnabled() {
+		return false;
+	}
+
+	/**
+	 * Subclasses should pass the DatabaseClient that they return from getDatabaseClient through this method so that
+	 * writes can be tracked when dirty tracking or the metadata cache is enabled.
+	 *
+	 * @param client
+	 * @return
+	 */
+	protected DatabaseClient trackWrites(DatabaseClient client) {
+		return isDirtyTrackingEnabled() || isMetadataCacheEnabled() ? writtenUriTracker.wrap(client) : client;
+	}
+
+	@BeforeEach
+	public void clearMetadataCacheBeforeTestRuns() {
+		metadataCache.clear();
+	}
+
+	/**
+	 * Override this to return true so that the metadata of a document is read at most once per test method and then
+	 * reused by assertInCollections, assertNotInCollections, readDocumentPermissions, and readDocumentMetadata. The
+	 * cached metadata for a document is discarded when the document is written, patched, or deleted via a document
+	 * manager obtained from getDatabaseClient, which requires that getDatabaseClient pass its DatabaseClient to
+	 * trackWrites. Changes made any other way - e.g. via a server-side eval - are not detected, so a test method that
+	 * makes such changes should call clearMetadataCacheBeforeTestRuns afterwards.
+	 *
+	 * @return
+	 */
+	protected boolean isMetadataCacheEnabled() {
+		return false;
+	}
+
+	/**
+	 * @return true if documents have not yet been deleted in the current JVM, or if the count returned by
+	 * getXqueryForCountingUntrackedDocuments is greater than zero
+	 */
+	protected boolean untrackedDocumentsExist() {
+		String timestamp = documentsDeletedTimestamps.get(buildDatabaseKey(getDatabaseClient()));
+		if (timestamp == null) {
+			return true;
+		}
+		String count = getDatabaseClient().newServerEval().xquery(getXqueryForCountingUntrackedDocuments())
+			.addVariable("timestamp", timestamp).evalAs(String.class);
+		if (Long.parseLong(count) > 0) {
+			if (logger.isInfoEnabled()) {
+				logger.info("Found a document that was not written via a tracked document manager; will delete documents");
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Every tracked document is deleted after each test method, so a document that was updated after the timestamp
+	 * at which documents were last deleted - passed as the external variable "timestamp" - and that still exists was
+	 * written without being tracked. The returned query stops at the first such document. A subclass that only deletes
+	 * a subset of documents via getJavascriptForDeletingDocumentsBeforeTestRuns can override this to consider only
+	 * documents in that subset.
+	 */
+	protected String getXqueryForCountingUntrackedDocuments() {
+		return "xquery version '1.0-ml';\n" +
+			"declare variable $timestamp as xs:string external;\n" +
+			"let $since := xs:unsignedLong($timestamp)\n" +
+			"return fn:count(fn:subsequence(cts:uris((), (), cts:true-query())[xdmp:document-timestamp(.) gt $since], 1, 1))";
+	}
+
 	/**
 	 * Used to construct an XmlNode with the returned NamespaceProvider associated with it,
 	 * thereby making the namespaces available for XPath expressions.
@@ -89,11 +469,71 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @return
 	 */
 	protected XmlNode readXmlDocument(String uri, String... expectedCollections) {
-		String xml = getDatabaseClient().newXMLDocumentManager().read(uri, new StringHandle()).get();
+		XmlNode xmlNode;
+		try (InputStream xml = readContent(getDatabaseClient(), uri)) {
+			xmlNode = new XmlNode(uri, xml, getNamespaceProvider().getNamespaces());
+		} catch (IOException ex) {
+			throw new RuntimeException("Unable to read XML document at URI " + uri + ": " + ex.getMessage(), ex);
+		}
 		if (expectedCollections != null) {
 			assertInCollections(uri, expectedCollections);
 		}
-		return new XmlNode(uri, xml, getNamespaceProvider().getNamespaces());
+		return xmlNode;
+	}
+
+	/**
+	 * Return a RemoteXmlNode for making assertions on the XML document at the given URI without downloading it; see
+	 * RemoteXmlNode for how assertions are queued and then verified in a single request.
+	 *
+	 * @param uri
+	 * @return
+	 */
+	protected RemoteXmlNode newRemoteXmlNode(String uri) {
+		RemoteXmlNode remoteXmlNode = new RemoteXmlNode(uri, new RemoteXPathEvaluator(getDatabaseClient(), transaction, getNamespaceProvider().getNamespaces()));
+		remoteXmlNodes.add(remoteXmlNode);
+		return remoteXmlNode;
+	}
+
+	/**
+	 * Fails the test method if any RemoteXmlNode returned by newRemoteXmlNode still has queued assertions, as those
+	 * assertions would otherwise never be evaluated because verify was not called.
+	 */
+	@AfterEach
+	public void failOnUnverifiedRemoteXmlNodesAfterTestRuns() {
+		List<String> messages = new ArrayList<>();
+		for (RemoteXmlNode remoteXmlNode : remoteXmlNodes) {
+			if (remoteXmlNode.getPendingAssertionCount() > 0) {
+				messages.add(remoteXmlNode.getPendingAssertionCount() + " on document at URI: " + remoteXmlNode.getUri());
+			}
+		}
+		remoteXmlNodes.clear();
+		if (!messages.isEmpty()) {
+			Assertions.fail("RemoteXmlNode assertions were queued but verify was never called; unverified assertions: " + messages);
+		}
+	}
+
+	/**
+	 * Return a BatchedDocumentAssertions for collecting assertions on many documents and then verifying all of them
+	 * via one request per batch of documents.
+	 *
+	 * @return
+	 */
+	protected BatchedDocumentAssertions newBatchedDocumentAssertions() {
+		return new BatchedDocumentAssertions(new RemoteXPathEvaluator(getDatabaseClient(), transaction, getNamespaceProvider().getNamespaces()));
+	}
+
+	/**
+	 * Return a StreamingXmlNode for making assertions on an XML document that is too large to parse into memory.
+	 * Nothing is read until an assertion is made, and each assertion streams the document from MarkLogic.
+	 *
+	 * @param uri
+	 * @return
+	 */
+	protected StreamingXmlNode readXmlDocumentAsStream(String uri) {
+		final DatabaseClient client = getDatabaseClient();
+		return new StreamingXmlNode(uri,
+			() -> readContent(client, uri),
+			getNamespaceProvider().getNamespaces());
 	}
 
 	/**
@@ -104,13 +544,129 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @return
 	 */
 	protected JsonNode readJsonDocument(String uri, String... expectedCollections) {
-		JsonNode json = getDatabaseClient().newJSONDocumentManager().read(uri, new JacksonHandle()).get();
+		JacksonHandle handle = new JacksonHandle();
+		handle.setMapper(JsonNodeTester.getObjectMapper());
+		JSONDocumentManager mgr = getDatabaseClient().newJSONDocumentManager();
+		JsonNode json = (transaction != null ? mgr.read(uri, handle, transaction) : mgr.read(uri, handle)).get();
 		if (expectedCollections != null) {
 			assertInCollections(uri, expectedCollections);
 		}
 		return json;
 	}
 
+	/**
+	 * Read the JSON document at the given URI and return a JsonNodeTester for making assertions on it via JSON
+	 * Pointer and JSONPath expressions.
+	 *
+	 * @param uri
+	 * @param expectedCollections If any are specified, the document is verified to be in each of the given collections
+	 * @return
+	 */
+	protected JsonNodeTester readJsonNodeTester(String uri, String... expectedCollections) {
+		return new JsonNodeTester(uri, readJsonDocument(uri, expectedCollections));
+	}
+
+	/**
+	 * Return a StreamingJsonNodeTester for making assertions on a JSON document that is too large to parse into
+	 * memory. Nothing is read until an assertion is made, and each assertion streams the document from MarkLogic.
+	 *
+	 * @param uri
+	 * @return
+	 */
+	protected StreamingJsonNodeTester readJsonDocumentAsStream(String uri) {
+		final DatabaseClient client = getDatabaseClient();
+		return new StreamingJsonNodeTester(uri,
+			() -> readContent(client, uri));
+	}
+
+	/**
+	 * Reads the content of the document at the given URI, within the transaction opened for the current test method
+	 * if transaction isolation is enabled.
+	 */
+	private InputStream readContent(DatabaseClient client, String uri) {
+		GenericDocumentManager mgr = client.newDocumentManager();
+		InputStreamHandle handle = new InputStreamHandle();
+		return (transaction != null ? mgr.read(uri, handle, transaction) : mgr.read(uri, handle)).get();
+	}
+
+	/**
+	 * Read the content and metadata of the documents at the given URIs via a single multi-document request for every
+	 * BULK_READ_BATCH_SIZE URIs.
+	 *
+	 * @param uris
+	 * @return a map of URI to DocumentTester, in the order of the given URIs
+	 */
+	protected Map<String, DocumentTester> readDocuments(String... uris) {
+		GenericDocumentManager mgr = newBulkReadDocumentManager();
+		Map<String, DocumentTester> testers = new HashMap<>();
+		for (int i = 0; i < uris.length; i += BULK_READ_BATCH_SIZE) {
+			String[] batch = Arrays.copyOfRange(uris, i, Math.min(i + BULK_READ_BATCH_SIZE, uris.length));
+			addDocumentTesters(mgr.read(transaction, batch), testers);
+		}
+
+		Map<String, DocumentTester> orderedTesters = new LinkedHashMap<>();
+		for (String uri : uris) {
+			DocumentTester tester = testers.get(uri);
+			Assertions.assertNotNull(tester, "Could not find document at URI: " + uri);
+			orderedTesters.put(uri, tester);
+		}
+		return orderedTesters;
+	}
+
+	/**
+	 * Read the content and metadata of every document in the given collection via a single request, verifying the
+	 * count at the same time.
+	 *
+	 * @param collection
+	 * @param expectedCount
+	 * @return a map of URI to DocumentTester
+	 */
+	protected Map<String, DocumentTester> readDocumentsInCollection(String collection, int expectedCount) {
+		GenericDocumentManager mgr = newBulkReadDocumentManager();
+		mgr.setPageLength(expectedCount + 1);
+		Map<String, DocumentTester> testers = new LinkedHashMap<>();
+		StringQueryDefinition query = newCollectionQuery(getDatabaseClient().newQueryManager(), collection);
+		addDocumentTesters(transaction != null ? mgr.search(query, 1, transaction) : mgr.search(query, 1), testers);
+		Assertions.assertEquals(expectedCount, testers.size(), String.format("Expected %d documents in collection %s", expectedCount, collection));
+		return testers;
+	}
+
+	/**
+	 * Read the XML documents at the given URIs via readDocuments.
+	 *
+	 * @param uris
+	 * @return an XmlNode for each URI, in the order of the given URIs
+	 */
+	protected List<XmlNode> readXmlDocuments(String... uris) {
+		List<XmlNode> nodes = new ArrayList<>();
+		for (DocumentTester tester : readDocuments(uris).values()) {
+			nodes.add(tester.getXmlNode());
+		}
+		return nodes;
+	}
+
+	private GenericDocumentManager newBulkReadDocumentManager() {
+		GenericDocumentManager mgr = getDatabaseClient().newDocumentManager();
+		mgr.setMetadataCategories(DocumentManager.Metadata.ALL);
+		return mgr;
+	}
+
+	private void addDocumentTesters(DocumentPage page, Map<String, DocumentTester> testers) {
+		Namespace[] namespaces = getNamespaceProvider().getNamespaces();
+		try {
+			for (DocumentRecord record : page) {
+				DocumentMetadataHandle metadata = record.getMetadata(new DocumentMetadataHandle());
+				if (isMetadataCacheEnabled()) {
+					metadataCache.put(record.getUri(), metadata);
+				}
+				String content = record.getContent(new StringHandle()).get();
+				testers.put(record.getUri(), new DocumentTester(record.getUri(), record.getFormat(), content, metadata, namespaces));
+			}
+		} finally {
+			page.close();
+		}
+	}
+
 	/**
 	 * Verify that the document at the given URI is in the given collections.
 	 *
@@ -118,7 +674,7 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @param collections
 	 */
 	protected void assertInCollections(String uri, String... collections) {
-		List<String> colls = new ClientHelper(getDatabaseClient()).getCollections(uri);
+		DocumentMetadataHandle.DocumentCollections colls = readDocumentCollections(uri);
 		for (String c : collections) {
 			Assertions.assertTrue(colls.contains(c), String.format("Expected URI %s to be in collection %s", uri, c));
 		}
@@ -132,12 +688,45 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @param collections
 	 */
 	protected void assertNotInCollections(String uri, String... collections) {
-		List<String> colls = new ClientHelper(getDatabaseClient()).getCollections(uri);
+		DocumentMetadataHandle.DocumentCollections colls = readDocumentCollections(uri);
 		for (String c : collections) {
 			Assertions.assertFalse(colls.contains(c), String.format("Expected URI %s to not be in collection %s", uri, c));
 		}
 	}
 
+	private DocumentMetadataHandle.DocumentCollections readDocumentCollections(String uri) {
+		return readDocumentMetadata(uri).getCollections();
+	}
+
+	/**
+	 * Read the collections, permissions, properties, quality, and metadata values of the document at the given URI in
+	 * a single request, or return them from the metadata cache if it is enabled and they have already been read.
+	 *
+	 * @param uri
+	 * @return
+	 */
+	protected DocumentMetadataHandle readDocumentMetadata(String uri) {
+		boolean cacheEnabled = isMetadataCacheEnabled();
+		if (cacheEnabled) {
+			DocumentMetadataHandle cached = metadataCache.get(uri);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		GenericDocumentManager mgr = getDatabaseClient().newDocumentManager();
+		mgr.setMetadataCategories(DocumentManager.Metadata.ALL);
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		if (transaction != null) {
+			mgr.readMetadata(uri, metadata, transaction);
+		} else {
+			mgr.readMetadata(uri, metadata);
+		}
+		if (cacheEnabled) {
+			metadataCache.put(uri, metadata);
+		}
+		return metadata;
+	}
+
 	protected void assertCollectionSize(String collection, int size) {
 		assertCollectionSize(null, collection, size);
 	}
@@ -150,7 +739,15 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @param size
 	 */
 	protected void assertCollectionSize(String message, String collection, int size) {
-		Assertions.assertEquals(size, new ClientHelper(getDatabaseClient()).getCollectionSize(collection), message);
+		long actualSize;
+		if (transaction != null) {
+			QueryManager queryManager = getDatabaseClient().newQueryManager();
+			queryManager.setPageLength(0);
+			actualSize = queryManager.search(newCollectionQuery(queryManager, collection), new SearchHandle(), 1, transaction).getTotalResults();
+		} else {
+			actualSize = new ClientHelper(getDatabaseClient()).getCollectionSize(collection);
+		}
+		Assertions.assertEquals(size, actualSize, message);
 	}
 
 	/**
@@ -161,11 +758,28 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @return
 	 */
 	protected List<String> getUrisInCollection(String collectionName, int expectedCount) {
-		List<String> uris = new ClientHelper(getDatabaseClient()).getUrisInCollection(collectionName, expectedCount + 1);
+		List<String> uris;
+		if (transaction != null) {
+			QueryManager queryManager = getDatabaseClient().newQueryManager();
+			queryManager.setPageLength(expectedCount + 1);
+			uris = new ArrayList<>();
+			SearchHandle results = queryManager.search(newCollectionQuery(queryManager, collectionName), new SearchHandle(), 1, transaction);
+			for (MatchDocumentSummary summary : results.getMatchResults()) {
+				uris.add(summary.getUri());
+			}
+		} else {
+			uris = new ClientHelper(getDatabaseClient()).getUrisInCollection(collectionName, expectedCount + 1);
+		}
 		Assertions.assertEquals(expectedCount, uris.size(), String.format("Expected %d uris in collection %s", expectedCount, collectionName));
 		return uris;
 	}
 
+	private StringQueryDefinition newCollectionQuery(QueryManager queryManager, String collection) {
+		StringQueryDefinition query = queryManager.newStringDefinition();
+		query.setCollections(collection);
+		return query;
+	}
+
 	/**
 	 * Returns a PermissionsTester object based on the permissions on the document at the given URI, which provides
 	 * convenience methods for asserting on the permissions on a document.
@@ -175,9 +789,7 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @return
 	 */
 	protected PermissionsTester readDocumentPermissions(String uri) {
-		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
-		getDatabaseClient().newDocumentManager().read(uri, metadata, new BytesHandle());
-		return new PermissionsTester(metadata.getPermissions());
+		return new PermissionsTester(readDocumentMetadata(uri).getPermissions());
 	}
 
 	/**
@@ -188,16 +800,25 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 	 * @return
 	 */
 	protected XmlNode readDocumentProperties(String uri) {
-		return new XmlNode(getDatabaseClient().newServerEval().xquery(String.format("xdmp:document-properties('%s')", uri)).evalAs(String.class));
+		ServerEvaluationCall call = getDatabaseClient().newServerEval().xquery(String.format("xdmp:document-properties('%s')", uri));
+		if (transaction != null) {
+			call.transaction(transaction);
+		}
+		return new XmlNode(call.evalAs(String.class));
 	}
 
 	/**
-	 * Convenience method for executing marklogic-unit-test tests.
+	 * Convenience method for executing marklogic-unit-test tests. Each run of a test module includes the setup and
+	 * teardown modules of its suite, so modules in the same suite are never run concurrently; modules in different
+	 * suites can be run concurrently.
 	 *
 	 * @param testModule
 	 */
 	protected void runMarkLogicUnitTests(TestModule testModule) {
-		TestSuiteResult result = new TestManager(getDatabaseClient()).run(testModule);
+		TestSuiteResult result;
+		synchronized (markLogicUnitTestSuiteLocks.computeIfAbsent(testModule.getSuite(), suite -> new Object())) {
+			result = new TestManager(getDatabaseClient()).run(testModule);
+		}
 		for (TestResult testResult : result.getTestResults()) {
 			String failureXml = testResult.getFailureXml();
 			if (failureXml != null) {
@@ -205,4 +826,53 @@ public abstract class AbstractMarkLogicTest extends LoggingObject {
 			}
 		}
 	}
+
+	/**
+	 * Builds a DynamicContainer for each suite of the given marklogic-unit-test modules, intended to be returned by a
+	 * TestFactory method. When JUnit executes a container, every module in the suite is run via a single request, and
+	 * the container then reports a DynamicTest for each module based on the result of the suite. This avoids a
+	 * separate request - and a separate run of the suite setup and teardown modules - for every test module.
+	 *
+	 * @param testModules
+	 * @return
+	 */
+	protected Stream<DynamicContainer> buildMarkLogicUnitTestSuites(List<TestModule> testModules) {
+		return MarkLogicUnitTestArgumentsProvider.groupTestModulesBySuite(testModules).entrySet().stream()
+			.map(entry -> DynamicContainer.dynamicContainer(entry.getKey(),
+				Stream.of(entry).flatMap(suite -> buildMarkLogicUnitTests(suite.getKey(), suite.getValue()))
+			));
+	}
+
+	private Stream<DynamicTest> buildMarkLogicUnitTests(String suite, List<TestModule> testModules) {
+		TestSuiteResult suiteResult;
+		synchronized (markLogicUnitTestSuiteLocks.computeIfAbsent(suite, key -> new Object())) {
+			suiteResult = new TestManager(getDatabaseClient()).runSuite(suite);
+		}
+
+		Map<String, TestResult> testResults = new LinkedHashMap<>();
+		for (TestResult testResult : suiteResult.getTestResults()) {
+			testResults.put(testResult.getName(), testResult);
+		}
+
+		List<DynamicTest> tests = new ArrayList<>();
+		for (TestModule testModule : testModules) {
+			final TestResult testResult = testResults.remove(testModule.getTest());
+			tests.add(DynamicTest.dynamicTest(testModule.getTest(), () -> {
+				Assertions.assertNotNull(testResult, String.format("No result was returned for test %s in suite %s", testModule.getTest(), suite));
+				assertMarkLogicUnitTestSucceeded(suite, testResult);
+			}));
+		}
+		// Includes any tests that were run as part of the suite but were not in the given list of test modules
+		for (TestResult testResult : testResults.values()) {
+			tests.add(DynamicTest.dynamicTest(testResult.getName(), () -> assertMarkLogicUnitTestSucceeded(suite, testResult)));
+		}
+		return tests.stream();
+	}
+
+	private void assertMarkLogicUnitTestSucceeded(String suite, TestResult testResult) {
+		String failureXml = testResult.getFailureXml();
+		if (failureXml != null) {
+			Assertions.fail(String.format("Test %s in suite %s failed, cause: %s", testResult.getName(), suite, failureXml));
+		}
+	}
 }
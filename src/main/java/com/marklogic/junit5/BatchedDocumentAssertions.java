@@ -0,0 +1,274 @@
+package com.marklogic.junit5;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Collects assertions on the content, collections, and permissions of many documents, and then verifies all of them
+ * via one server-side request per batch of documents - as opposed to one or more requests per document. Every failed
+ * assertion is reported at once. For example:
+ * <pre>
+ * BatchedDocumentAssertions assertions = newBatchedDocumentAssertions();
+ * assertions.forDocuments("/person/1.xml", "/person/2.xml")
+ *   .assertElementExists("/es:envelope/es:instance/Person")
+ *   .assertInCollections("Person");
+ * assertions.forDocument("/order/1.json")
+ *   .assertJsonValue("/envelope/instance/Order/id", "1");
+ * assertions.verify();
+ * </pre>
+ * Content assertions are evaluated via RemoteXPathEvaluator, so the same rules for XPath expressions and values apply.
+ * A JSON Pointer is converted into the equivalent MarkLogic XPath expression over the JSON document.
+ */
+public class BatchedDocumentAssertions {
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	private final RemoteXPathEvaluator evaluator;
+	private final Map<String, List<PendingAssertion>> assertionsByUri = new LinkedHashMap<>();
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	public BatchedDocumentAssertions(RemoteXPathEvaluator evaluator) {
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * @param uri
+	 * @return an object for adding assertions on the document at the given URI
+	 */
+	public Expectations forDocument(String uri) {
+		return forDocuments(uri);
+	}
+
+	/**
+	 * @param uris
+	 * @return an object for adding assertions that apply to every document at the given URIs
+	 */
+	public Expectations forDocuments(String... uris) {
+		for (String uri : uris) {
+			assertionsByUri.computeIfAbsent(uri, key -> new ArrayList<>());
+		}
+		return new Expectations(Arrays.asList(uris));
+	}
+
+	/**
+	 * Verifies every collected assertion, with one request for every batchSize documents, and reports every failure
+	 * at once. Every document is also verified to exist. The collected assertions are then cleared.
+	 */
+	public void verify() {
+		List<String> uris = new ArrayList<>(assertionsByUri.keySet());
+		List<Executable> executables = new ArrayList<>();
+		for (int i = 0; i < uris.size(); i += batchSize) {
+			verifyBatch(uris.subList(i, Math.min(i + batchSize, uris.size())), executables);
+		}
+		assertionsByUri.clear();
+		Assertions.assertAll("Assertions on " + uris.size() + " documents", executables);
+	}
+
+	private void verifyBatch(List<String> uris, List<Executable> executables) {
+		Map<String, List<String>> xpathsByUri = new LinkedHashMap<>();
+		boolean collectValues = false;
+		boolean includeMetadata = false;
+		for (String uri : uris) {
+			Set<String> xpaths = new LinkedHashSet<>();
+			for (PendingAssertion assertion : assertionsByUri.get(uri)) {
+				if (assertion.xpath != null) {
+					xpaths.add(assertion.xpath);
+				}
+				collectValues |= assertion.needsValues;
+				includeMetadata |= assertion.needsMetadata;
+			}
+			xpathsByUri.put(uri, new ArrayList<>(xpaths));
+		}
+
+		Map<String, RemoteXPathEvaluator.DocumentResult> results = evaluator.evaluate(xpathsByUri, collectValues, includeMetadata);
+		for (String uri : uris) {
+			RemoteXPathEvaluator.DocumentResult documentResult = results.get(uri);
+			if (documentResult == null || !documentResult.isExists()) {
+				executables.add(() -> Assertions.fail("Could not find document at URI: " + uri));
+				continue;
+			}
+			for (PendingAssertion assertion : assertionsByUri.get(uri)) {
+				RemoteXPathEvaluator.XPathResult xpathResult = assertion.xpath != null ? documentResult.getResult(assertion.xpath) : null;
+				if (xpathResult != null && xpathResult.getError() != null) {
+					executables.add(() -> Assertions.fail(String.format("Unable to evaluate xpath: %s; URI: %s; cause: %s",
+						assertion.xpath, uri, xpathResult.getError())));
+				} else {
+					executables.add(assertion.assertion.apply(new Result(uri, documentResult, xpathResult)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts a JSON Pointer into a MarkLogic XPath expression selecting the same node in a JSON document. MarkLogic
+	 * names each item in an array after the array, so an array index becomes a positional predicate on the preceding
+	 * step. A token that is a number may also be the name of a property - as with JsonPath - so it becomes the union of
+	 * that property and that array item.
+	 *
+	 * @param pointer
+	 * @return
+	 */
+	public static String jsonPointerToXPath(String pointer) {
+		if (pointer.isEmpty()) {
+			return "/node()";
+		}
+		if (!pointer.startsWith("/")) {
+			throw new IllegalArgumentException("A JSON Pointer must be empty or start with '/': " + pointer);
+		}
+		String xpath = "";
+		for (String token : pointer.substring(1).split("/", -1)) {
+			token = token.replace("~1", "/").replace("~0", "~");
+			String property = token.matches("[A-Za-z_][A-Za-z0-9_.-]*") ? "/" + token : "/node('" + token.replace("'", "''") + "')";
+			// Limited to 9 digits so that the position can't overflow an int; a longer number can only be a property name
+			if (token.matches("0|[1-9][0-9]{0,8}")) {
+				int position = Integer.parseInt(token) + 1;
+				String item = xpath.isEmpty() ? "/array-node()/node()[" + position + "]" : xpath + "[" + position + "]";
+				xpath = "(" + xpath + property + " | " + item + ")";
+			} else {
+				xpath += property;
+			}
+		}
+		return xpath;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Adds assertions on one or more documents; each method returns this object so that calls can be chained.
+	 */
+	public class Expectations {
+
+		private final List<String> uris;
+
+		Expectations(List<String> uris) {
+			this.uris = uris;
+		}
+
+		public Expectations assertElementValue(String xpath, String value) {
+			return add(xpath, true, false, r -> () -> {
+				Assertions.assertTrue(r.xpathResult.getCount() > 0,
+					String.format("Could not find at least one element, xpath: %s; URI: %s", xpath, r.uri));
+				Assertions.assertTrue(r.xpathResult.getValues().contains(value), String.format(
+					"No element has value '%s'; xpath: %s; URI: %s; values: %s", value, xpath, r.uri, r.xpathResult.getValues()));
+			});
+		}
+
+		public Expectations assertElementExists(String xpath) {
+			return assertElementCount(xpath, 1);
+		}
+
+		public Expectations assertElementMissing(String xpath) {
+			return assertElementCount(xpath, 0);
+		}
+
+		public Expectations assertElementCount(String xpath, int count) {
+			return add(xpath, false, false, r -> () -> Assertions.assertEquals(count, r.xpathResult.getCount(),
+				String.format("Unexpected number of elements matching xpath: %s; URI: %s", xpath, r.uri)));
+		}
+
+		/**
+		 * @param jsonPointer identifies a value in a JSON document
+		 * @param value       the expected value, as a string
+		 * @return
+		 */
+		public Expectations assertJsonValue(String jsonPointer, String value) {
+			final String xpath = jsonPointerToXPath(jsonPointer);
+			return add(xpath, true, false, r -> () -> Assertions.assertEquals(value, singletonOrNull(r.xpathResult.getValues()),
+				String.format("Unexpected value at JSON Pointer: %s; URI: %s; values: %s", jsonPointer, r.uri, r.xpathResult.getValues())));
+		}
+
+		public Expectations assertJsonExists(String jsonPointer) {
+			final String xpath = jsonPointerToXPath(jsonPointer);
+			return add(xpath, false, false, r -> () -> Assertions.assertTrue(r.xpathResult.getCount() > 0,
+				String.format("Expected a value at JSON Pointer: %s; URI: %s", jsonPointer, r.uri)));
+		}
+
+		public Expectations assertInCollections(String... collections) {
+			return add(null, false, true, r -> () -> {
+				for (String c : collections) {
+					Assertions.assertTrue(r.documentResult.getCollections().contains(c),
+						String.format("Expected URI %s to be in collection %s", r.uri, c));
+				}
+			});
+		}
+
+		public Expectations assertNotInCollections(String... collections) {
+			return add(null, false, true, r -> () -> {
+				for (String c : collections) {
+					Assertions.assertFalse(r.documentResult.getCollections().contains(c),
+						String.format("Expected URI %s to not be in collection %s", r.uri, c));
+				}
+			});
+		}
+
+		/**
+		 * @param role
+		 * @param capabilities e.g. "read" and "update"
+		 * @return
+		 */
+		public Expectations assertPermissionExists(String role, String... capabilities) {
+			return add(null, false, true, r -> () -> {
+				Set<String> actual = r.documentResult.getPermissions().get(role);
+				Assertions.assertNotNull(actual, String.format("Expected URI %s to have a permission for role %s", r.uri, role));
+				for (String capability : capabilities) {
+					Assertions.assertTrue(actual.contains(capability),
+						String.format("Expected URI %s to have %s capability for role %s", r.uri, capability, role));
+				}
+			});
+		}
+
+		private Expectations add(String xpath, boolean needsValues, boolean needsMetadata, Function<Result, Executable> assertion) {
+			for (String uri : uris) {
+				assertionsByUri.get(uri).add(new PendingAssertion(xpath, needsValues, needsMetadata, assertion));
+			}
+			return this;
+		}
+	}
+
+	private static String singletonOrNull(List<String> values) {
+		return values.size() == 1 ? values.get(0) : null;
+	}
+
+	private static class PendingAssertion {
+
+		private final String xpath;
+		private final boolean needsValues;
+		private final boolean needsMetadata;
+		private final Function<Result, Executable> assertion;
+
+		PendingAssertion(String xpath, boolean needsValues, boolean needsMetadata, Function<Result, Executable> assertion) {
+			this.xpath = xpath;
+			this.needsValues = needsValues;
+			this.needsMetadata = needsMetadata;
+			this.assertion = assertion;
+		}
+	}
+
+	private static class Result {
+
+		private final String uri;
+		private final RemoteXPathEvaluator.DocumentResult documentResult;
+		private final RemoteXPathEvaluator.XPathResult xpathResult;
+
+		Result(String uri, RemoteXPathEvaluator.DocumentResult documentResult, RemoteXPathEvaluator.XPathResult xpathResult) {
+			this.uri = uri;
+			this.documentResult = documentResult;
+			this.xpathResult = xpathResult;
+		}
+	}
+}
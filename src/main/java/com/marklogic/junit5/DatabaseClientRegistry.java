@@ -0,0 +1,184 @@
+package com.marklogic.junit5;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.DatabaseClientFactory;
+import com.marklogic.client.ext.helper.LoggingObject;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * JVM-scoped registry of DatabaseClient instances, keyed on host, port, database, and user. Reusing a DatabaseClient
+ * across test methods and test classes avoids a new HTTP connection pool and new authentication handshakes for every
+ * test. Every client in the registry is released once when the JVM exits, so a client obtained from the registry
+ * must not be released by the caller.
+ */
+public class DatabaseClientRegistry extends LoggingObject {
+
+	private static final DatabaseClientRegistry instance = new DatabaseClientRegistry();
+
+	private final Map<String, RegisteredClient> clients = new ConcurrentHashMap<>();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(instance::releaseAll));
+	}
+
+	public static DatabaseClientRegistry getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns a client that uses digest authentication, creating it the first time it is requested.
+	 *
+	 * @param host
+	 * @param port
+	 * @param database optional; if null, the client connects to the default database of the app server
+	 * @param username
+	 * @param password
+	 * @return
+	 */
+	public DatabaseClient getDigestClient(String host, int port, String database, String username, String password) {
+		String name = String.format("%s@%s:%d/%s", username, host, port, database != null ? database : "");
+		return getClient(name + "#" + digest(password), name, () -> DatabaseClientFactory.newClient(host, port, database,
+			new DatabaseClientFactory.DigestAuthContext(username, password)));
+	}
+
+	/**
+	 * Used to keep passwords out of registry keys while still distinguishing every distinct password.
+	 *
+	 * @param value
+	 * @return the hex-encoded SHA-256 digest of the given value
+	 */
+	protected static String digest(String value) {
+		try {
+			byte[] bytes = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(bytes.length * 2);
+			for (byte b : bytes) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	/**
+	 * Returns the client registered under the given key, using the given supplier to create it the first time it is
+	 * requested. The key must identify everything that distinguishes the client - including its credentials.
+	 *
+	 * @param key
+	 * @param name     used when reporting statistics; must not contain credentials
+	 * @param supplier
+	 * @return
+	 */
+	public DatabaseClient getClient(String key, String name, Supplier<DatabaseClient> supplier) {
+		RegisteredClient registeredClient = clients.computeIfAbsent(key, k -> {
+			if (logger.isInfoEnabled()) {
+				logger.info("Creating DatabaseClient for: " + name);
+			}
+			return new RegisteredClient(name, supplier.get());
+		});
+		registeredClient.requestCount.incrementAndGet();
+		return registeredClient.client;
+	}
+
+	/**
+	 * @return statistics on the connection pool of each client in the registry
+	 */
+	public List<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+		List<ConnectionPoolStatistics> list = new ArrayList<>();
+		for (RegisteredClient registeredClient : clients.values()) {
+			int connectionCount = -1;
+			int idleConnectionCount = -1;
+			Object impl = registeredClient.client.getClientImplementation();
+			if (impl instanceof OkHttpClient) {
+				ConnectionPool pool = ((OkHttpClient) impl).connectionPool();
+				connectionCount = pool.connectionCount();
+				idleConnectionCount = pool.idleConnectionCount();
+			}
+			list.add(new ConnectionPoolStatistics(registeredClient.name, registeredClient.requestCount.get(), connectionCount, idleConnectionCount));
+		}
+		return list;
+	}
+
+	/**
+	 * Releases every client in the registry; invoked automatically when the JVM exits.
+	 */
+	public void releaseAll() {
+		for (RegisteredClient registeredClient : clients.values()) {
+			try {
+				registeredClient.client.release();
+			} catch (Exception ex) {
+				logger.warn("Unable to release DatabaseClient for: " + registeredClient.name + "; cause: " + ex.getMessage());
+			}
+		}
+		clients.clear();
+	}
+
+	private static class RegisteredClient {
+
+		private final String name;
+		private final DatabaseClient client;
+		private final AtomicLong requestCount = new AtomicLong();
+
+		RegisteredClient(String name, DatabaseClient client) {
+			this.name = name;
+			this.client = client;
+		}
+	}
+
+	/**
+	 * Point-in-time statistics for a client in the registry. The connection counts are -1 if the client is not
+	 * backed by OkHttp.
+	 */
+	public static class ConnectionPoolStatistics {
+
+		private final String name;
+		private final long requestCount;
+		private final int connectionCount;
+		private final int idleConnectionCount;
+
+		public ConnectionPoolStatistics(String name, long requestCount, int connectionCount, int idleConnectionCount) {
+			this.name = name;
+			this.requestCount = requestCount;
+			this.connectionCount = connectionCount;
+			this.idleConnectionCount = idleConnectionCount;
+		}
+
+		/**
+		 * @return the name of the client, which identifies the user, host, port, and database
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the number of times the client has been obtained from the registry
+		 */
+		public long getRequestCount() {
+			return requestCount;
+		}
+
+		public int getConnectionCount() {
+			return connectionCount;
+		}
+
+		public int getIdleConnectionCount() {
+			return idleConnectionCount;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: requests: %d; connections: %d; idle connections: %d", name, requestCount, connectionCount, idleConnectionCount);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.marklogic.junit5;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Apply this to a subclass of AbstractMarkLogicTest to delete documents before each test method runs via a
+ * QueryBatcherDocumentCleaner instead of a single eval request.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DeleteDocumentsWithQueryBatcher {
+
+	int batchSize() default QueryBatcherDocumentCleaner.DEFAULT_BATCH_SIZE;
+
+	int threadCount() default QueryBatcherDocumentCleaner.DEFAULT_THREAD_COUNT;
+
+	/**
+	 * If any collections are specified, only documents in at least one of them are deleted; otherwise, every document
+	 * is deleted.
+	 */
+	String[] collections() default {};
+}
@@ -0,0 +1,12 @@
+package com.marklogic.junit5;
+
+import com.marklogic.client.DatabaseClient;
+
+/**
+ * Strategy interface for deleting documents from the test database before a test method runs. See
+ * AbstractMarkLogicTest.getDocumentCleaner.
+ */
+public interface DocumentCleaner {
+
+	void deleteDocuments(DatabaseClient client);
+}
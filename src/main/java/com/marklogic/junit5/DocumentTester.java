@@ -0,0 +1,106 @@
+package com.marklogic.junit5;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.Format;
+import org.jdom2.Namespace;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+
+/**
+ * Convenience class for making assertions on the content and metadata of a document that was read, along with many
+ * other documents, in a single request - see AbstractMarkLogicTest.readDocuments.
+ */
+public class DocumentTester {
+
+	private String uri;
+	private Format format;
+	private String content;
+	private DocumentMetadataHandle metadata;
+	private Namespace[] namespaces;
+
+	private XmlNode xmlNode;
+	private JsonNode jsonNode;
+
+	/**
+	 * @param uri
+	 * @param format
+	 * @param content
+	 * @param metadata
+	 * @param namespaces used when constructing an XmlNode from the content of the document
+	 */
+	public DocumentTester(String uri, Format format, String content, DocumentMetadataHandle metadata, Namespace... namespaces) {
+		this.uri = uri;
+		this.format = format;
+		this.content = content;
+		this.metadata = metadata;
+		this.namespaces = namespaces;
+	}
+
+	/**
+	 * @return an XmlNode for making assertions on the content of the document; the content is only parsed once
+	 */
+	public XmlNode getXmlNode() {
+		if (xmlNode == null) {
+			xmlNode = new XmlNode(uri, content, namespaces);
+		}
+		return xmlNode;
+	}
+
+	/**
+	 * @return a JsonNode for making assertions on the content of the document; the content is only parsed once
+	 */
+	public JsonNode getJsonNode() {
+		if (jsonNode == null) {
+			try {
+				jsonNode = JsonNodeTester.getObjectMapper().readTree(content);
+			} catch (IOException ex) {
+				throw new RuntimeException("Unable to parse JSON for document at URI " + uri + ": " + ex.getMessage(), ex);
+			}
+		}
+		return jsonNode;
+	}
+
+	/**
+	 * @return a JsonNodeTester for making assertions on the content of the document via JSON Pointer and JSONPath
+	 * expressions
+	 */
+	public JsonNodeTester getJsonNodeTester() {
+		return new JsonNodeTester(uri, getJsonNode());
+	}
+
+	public DocumentTester assertInCollections(String... collections) {
+		for (String c : collections) {
+			Assertions.assertTrue(metadata.getCollections().contains(c), String.format("Expected URI %s to be in collection %s", uri, c));
+		}
+		return this;
+	}
+
+	public DocumentTester assertNotInCollections(String... collections) {
+		for (String c : collections) {
+			Assertions.assertFalse(metadata.getCollections().contains(c), String.format("Expected URI %s to not be in collection %s", uri, c));
+		}
+		return this;
+	}
+
+	public PermissionsTester getPermissionsTester() {
+		return new PermissionsTester(metadata.getPermissions());
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public Format getFormat() {
+		return format;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public DocumentMetadataHandle getMetadata() {
+		return metadata;
+	}
+}
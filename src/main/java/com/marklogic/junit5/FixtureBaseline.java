@@ -0,0 +1,136 @@
+package com.marklogic.junit5;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.ext.helper.LoggingObject;
+
+/**
+ * Captures the state of the test database at a point in time - the "baseline" - after a set of fixture documents has
+ * been loaded, and can then return the database to that state by deleting every document created after the baseline
+ * and restoring every baseline document that was modified or deleted after the baseline. Restoring relies on
+ * point-in-time queries, so the database must retain fragments as of the baseline timestamp. Capture can optionally
+ * ensure this by setting the merge timestamp of the database to the baseline timestamp. Note that this changes the
+ * configuration of the database - and requires the admin role - and the change outlives the JVM, so deleted fragments
+ * continue to be retained until restoreMergeTimestamp is invoked or the merge timestamp is otherwise reset.
+ * <p>
+ * This is much cheaper than deleting every document and reloading the fixture documents when the baseline is large
+ * and each test only touches a small portion of it.
+ */
+public class FixtureBaseline extends LoggingObject {
+
+	private static final String RESTORE_SCRIPT = "xquery version '1.0-ml';\n" +
+		"declare variable $timestamp as xs:string external;\n" +
+		"let $ts := xs:unsignedLong($timestamp)\n" +
+		"let $at-baseline := <options xmlns='xdmp:eval'><timestamp>{$ts}</timestamp></options>\n" +
+		"let $update := <options xmlns='xdmp:eval'><update>true</update></options>\n" +
+		"let $baseline-uris := xdmp:invoke-function(function() { cts:uris((), (), cts:true-query()) }, $at-baseline)\n" +
+		"let $current-uris := cts:uris((), (), cts:true-query())\n" +
+		"let $baseline := map:new($baseline-uris ! map:entry(., fn:true()))\n" +
+		"let $current := map:new($current-uris ! map:entry(., fn:true()))\n" +
+		"let $to-delete := $current-uris[fn:not(map:contains($baseline, .))]\n" +
+		"let $to-restore := (\n" +
+		"  $current-uris[map:contains($baseline, .)][xdmp:document-timestamp(.) gt $ts],\n" +
+		"  $baseline-uris[fn:not(map:contains($current, .))]\n" +
+		")\n" +
+		"let $snapshots := xdmp:invoke-function(function() {\n" +
+		"  for $uri in $to-restore return map:new((\n" +
+		"    map:entry('uri', $uri),\n" +
+		"    map:entry('content', fn:doc($uri)),\n" +
+		"    map:entry('options', map:new((\n" +
+		"      map:entry('collections', xdmp:document-get-collections($uri)),\n" +
+		"      map:entry('permissions', xdmp:document-get-permissions($uri)),\n" +
+		"      map:entry('quality', xdmp:document-get-quality($uri)),\n" +
+		"      map:entry('metadata', xdmp:document-get-metadata($uri))\n" +
+		"    ))),\n" +
+		"    map:entry('properties', xdmp:document-properties($uri)/prop:properties/*[fn:not(self::prop:last-modified)])\n" +
+		"  ))\n" +
+		"}, $at-baseline)\n" +
+		"let $_ := xdmp:invoke-function(function() {\n" +
+		"  $to-delete ! xdmp:document-delete(.),\n" +
+		"  for $s in $snapshots return xdmp:document-insert(map:get($s, 'uri'), map:get($s, 'content'), map:get($s, 'options'))\n" +
+		"}, $update)\n" +
+		"let $_ := xdmp:invoke-function(function() {\n" +
+		"  for $s in $snapshots return xdmp:document-set-properties(map:get($s, 'uri'), map:get($s, 'properties'))\n" +
+		"}, $update)\n" +
+		"return fn:string-join((fn:string(fn:count($to-delete)), fn:string(fn:count($to-restore))), ',')";
+
+	private static final String SET_MERGE_TIMESTAMP_SCRIPT = "xquery version '1.0-ml';\n" +
+		"import module namespace admin = 'http://marklogic.com/xdmp/admin' at '/MarkLogic/admin.xqy';\n" +
+		"declare variable $timestamp as xs:string external;\n" +
+		"let $config := admin:get-configuration()\n" +
+		"let $previous := admin:database-get-merge-timestamp($config, xdmp:database())\n" +
+		"let $_ := admin:save-configuration(admin:database-set-merge-timestamp($config, xdmp:database(), xs:long($timestamp)))\n" +
+		"return fn:string($previous)";
+
+	private final String timestamp;
+	private String previousMergeTimestamp;
+
+	public FixtureBaseline(String timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	/**
+	 * Capture a baseline as of the current timestamp of the database that the given client connects to.
+	 *
+	 * @param client
+	 * @param setMergeTimestamp if true, the merge timestamp of the database is set to the baseline timestamp so that
+	 *                          the fragments needed to restore the baseline are retained; the previous merge timestamp
+	 *                          is remembered so that it can be put back via restoreMergeTimestamp
+	 * @return
+	 */
+	public static FixtureBaseline capture(DatabaseClient client, boolean setMergeTimestamp) {
+		String timestamp = client.newServerEval().xquery("xdmp:request-timestamp()").evalAs(String.class);
+		FixtureBaseline baseline = new FixtureBaseline(timestamp);
+		if (setMergeTimestamp) {
+			baseline.previousMergeTimestamp = setMergeTimestamp(client, timestamp);
+		}
+		return baseline;
+	}
+
+	/**
+	 * Put back the merge timestamp that the database had before this baseline was captured, if capture changed it.
+	 * Fragments that are only retained for this baseline can then be merged away, so the baseline can no longer be
+	 * restored reliably afterwards.
+	 *
+	 * @param client
+	 */
+	public void restoreMergeTimestamp(DatabaseClient client) {
+		if (previousMergeTimestamp != null) {
+			setMergeTimestamp(client, previousMergeTimestamp);
+			logger.info("Restored merge timestamp to " + previousMergeTimestamp);
+			previousMergeTimestamp = null;
+		}
+	}
+
+	/**
+	 * @return the previous merge timestamp
+	 */
+	private static String setMergeTimestamp(DatabaseClient client, String timestamp) {
+		return client.newServerEval().xquery(SET_MERGE_TIMESTAMP_SCRIPT).addVariable("timestamp", timestamp).evalAs(String.class);
+	}
+
+	/**
+	 * Delete every document created after the baseline, and restore the content, collections, permissions, quality,
+	 * metadata, and properties of every baseline document that was modified or deleted after the baseline.
+	 *
+	 * @param client
+	 */
+	public void restore(DatabaseClient client) {
+		long start = System.currentTimeMillis();
+		String[] counts = client.newServerEval().xquery(RESTORE_SCRIPT).addVariable("timestamp", timestamp).evalAs(String.class).split(",");
+		if (logger.isInfoEnabled()) {
+			logger.info(String.format("Restored baseline at timestamp %s; deleted %s documents and restored %s documents; duration: %d",
+				timestamp, counts[0], counts[1], System.currentTimeMillis() - start));
+		}
+	}
+
+	public String getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * @return the merge timestamp that the database had before capture changed it, or null if capture did not change it
+	 */
+	public String getPreviousMergeTimestamp() {
+		return previousMergeTimestamp;
+	}
+}
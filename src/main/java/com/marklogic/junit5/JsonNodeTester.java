@@ -0,0 +1,168 @@
+package com.marklogic.junit5;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON counterpart to XmlNode; encapsulates a Jackson JsonNode with a variety of methods for making assertions on it
+ * via paths, where each path is either a JSON Pointer or a JSONPath expression - see JsonPath for the syntax that is
+ * supported. Compiled paths are cached, and every instance parses JSON via a single shared ObjectMapper.
+ * <p>
+ * The value of a selected node is its text value - e.g. "3" for the number 3 - and an empty string for an object or
+ * an array.
+ */
+public class JsonNodeTester {
+
+	/**
+	 * Shared by all instances, as an ObjectMapper is expensive to construct but thread-safe once configured.
+	 */
+	private static ObjectMapper objectMapper = new ObjectMapper();
+
+	private final String uri;
+	private final JsonNode json;
+
+	public JsonNodeTester(JsonNode json) {
+		this(null, json);
+	}
+
+	public JsonNodeTester(String uri, JsonNode json) {
+		this.uri = uri;
+		this.json = json;
+	}
+
+	public JsonNodeTester(String uri, String json) {
+		this(uri, parse(uri, json));
+	}
+
+	private static JsonNode parse(String uri, String json) {
+		try {
+			return objectMapper.readTree(json);
+		} catch (IOException ex) {
+			throw new RuntimeException("Unable to parse JSON" + (uri != null ? " for document at URI " + uri : "") + ": " + ex.getMessage(), ex);
+		}
+	}
+
+	public void assertElementValue(String path, String value) {
+		assertElementValue(null, path, value);
+	}
+
+	public void assertElementValue(String message, String path, String value) {
+		List<String> values = getValues(path);
+		Assertions.assertTrue(values.size() > 0, message + ";\nCould not find at least one value, path: " + path + describeUri());
+		Assertions.assertTrue(values.contains(value), () -> message + ";\nNo value equals '" + value + "'; path: " + path +
+			"; values: " + values + describeUri());
+	}
+
+	public String getElementValue(String path) {
+		List<JsonNode> nodes = evaluate(path);
+		assertOneNode("", nodes.size(), path);
+		return nodes.get(0).asText();
+	}
+
+	/**
+	 * @param path
+	 * @return the single node selected by the given path, for making further assertions on it
+	 */
+	public JsonNodeTester getJsonNodeTester(String path) {
+		List<JsonNode> nodes = evaluate(path);
+		assertOneNode("Expected to find a single node with path: " + path, nodes.size(), path);
+		return new JsonNodeTester(uri, nodes.get(0));
+	}
+
+	public void assertElementExists(String path) {
+		assertElementExists(null, path);
+	}
+
+	public void assertElementExists(String message, String path) {
+		assertOneNode(message, getElementCount(path), path);
+	}
+
+	public void assertElementMissing(String message, String path) {
+		Assertions.assertEquals(0, getElementCount(path), message + ";\nexpected no values matching path " + path + describeUri());
+	}
+
+	public void assertElementCount(String path, int count) {
+		assertElementCount(null, path, count);
+	}
+
+	public void assertElementCount(String message, String path, int count) {
+		Assertions.assertEquals(count, getElementCount(path), message + ";\nUnexpected number of values matching path: " + path + describeUri());
+	}
+
+	public void assertElementCounts(Map<String, Integer> pathsAndCounts) {
+		assertElementCounts(null, pathsAndCounts);
+	}
+
+	/**
+	 * Verifies the number of nodes selected by each path in the given map; every mismatch is reported in a single
+	 * failure.
+	 *
+	 * @param message
+	 * @param pathsAndCounts
+	 */
+	public void assertElementCounts(String message, Map<String, Integer> pathsAndCounts) {
+		List<Executable> assertions = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : pathsAndCounts.entrySet()) {
+			final String path = entry.getKey();
+			final int expectedCount = entry.getValue();
+			final int actualCount = getElementCount(path);
+			assertions.add(() -> Assertions.assertEquals(expectedCount, actualCount, "Unexpected number of values matching path: " + path));
+		}
+		Assertions.assertAll(message + describeUri(), assertions);
+	}
+
+	public int getElementCount(String path) {
+		return evaluate(path).size();
+	}
+
+	protected List<String> getValues(String path) {
+		List<String> values = new ArrayList<>();
+		for (JsonNode node : evaluate(path)) {
+			values.add(node.asText());
+		}
+		return values;
+	}
+
+	protected List<JsonNode> evaluate(String path) {
+		return JsonPath.compile(path).evaluate(json);
+	}
+
+	private void assertOneNode(String message, int count, String path) {
+		Assertions.assertTrue(count == 1, message + ";\nExpected 1 value, but found " + count + "; path: " + path + describeUri());
+	}
+
+	private String describeUri() {
+		return uri != null ? "; URI: " + uri : "";
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public JsonNode getJsonNode() {
+		return json;
+	}
+
+	/**
+	 * @return the ObjectMapper shared by every JsonNodeTester and StreamingJsonNodeTester, and by DocumentTester
+	 */
+	public static ObjectMapper getObjectMapper() {
+		return objectMapper;
+	}
+
+	/**
+	 * Replace the shared ObjectMapper, e.g. with one that has custom features enabled.
+	 *
+	 * @param mapper
+	 */
+	public static void setObjectMapper(ObjectMapper mapper) {
+		objectMapper = mapper;
+	}
+}
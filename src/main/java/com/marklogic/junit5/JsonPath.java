@@ -0,0 +1,215 @@
+package com.marklogic.junit5;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled path into a JSON document, used by JsonNodeTester and StreamingJsonNodeTester. Two syntaxes are
+ * supported:
+ * <ul>
+ * <li>a JSON Pointer, e.g. "/order/items/0/name", which is either empty or starts with "/"</li>
+ * <li>a subset of JSONPath, e.g. "$.order.items[*].name" or "$['order']['items'][0]", which starts with "$" and
+ * supports property names, array indexes, and "*" wildcards, but not recursive descent, slices, or filters</li>
+ * </ul>
+ * Compiled paths are cached for the lifetime of the JVM, up to MAX_CACHE_SIZE, so use compile rather than parsing a
+ * path each time it's needed.
+ */
+public class JsonPath {
+
+	public static final int MAX_CACHE_SIZE = 1000;
+
+	private static final Map<String, JsonPath> cache = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+			return size() > MAX_CACHE_SIZE;
+		}
+	};
+
+	private final String path;
+	private final List<Step> steps;
+
+	private JsonPath(String path, List<Step> steps) {
+		this.path = path;
+		this.steps = steps;
+	}
+
+	/**
+	 * @param path a JSON Pointer or JSONPath expression
+	 * @return the compiled path, which is only parsed the first time it is requested
+	 */
+	public static JsonPath compile(String path) {
+		synchronized (cache) {
+			JsonPath compiled = cache.get(path);
+			if (compiled == null) {
+				compiled = new JsonPath(path, path.startsWith("$") ? parseJsonPath(path) : parseJsonPointer(path));
+				cache.put(path, compiled);
+			}
+			return compiled;
+		}
+	}
+
+	/**
+	 * @param root
+	 * @return every node selected by this path, in document order
+	 */
+	public List<JsonNode> evaluate(JsonNode root) {
+		List<JsonNode> nodes = Collections.singletonList(root);
+		for (Step step : steps) {
+			List<JsonNode> next = new ArrayList<>();
+			for (JsonNode node : nodes) {
+				step.select(node, next);
+			}
+			nodes = next;
+		}
+		return nodes;
+	}
+
+	/**
+	 * Used when streaming, where the location of a value is known only via the property name or array index of the
+	 * value and of each of its ancestors.
+	 *
+	 * @param depth     the number of containers enclosing the value, minus one
+	 * @param inArray   whether the value is an element of an array
+	 * @param fieldName the property name of the value, if it's not an element of an array
+	 * @param index     the index of the value, if it's an element of an array
+	 * @return true if the value is selected by the step at the given depth
+	 */
+	boolean matchesStep(int depth, boolean inArray, String fieldName, int index) {
+		Step step = steps.get(depth);
+		if (step.wildcard) {
+			return true;
+		}
+		return inArray ? step.index == index : fieldName.equals(step.name);
+	}
+
+	/**
+	 * @return the number of steps; a value is selected when it matches every step
+	 */
+	int getStepCount() {
+		return steps.size();
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+	/**
+	 * An array index; limited to 9 digits so that it always fits in an int.
+	 */
+	private static final String INDEX_PATTERN = "0|[1-9][0-9]{0,8}";
+
+	private static List<Step> parseJsonPointer(String pointer) {
+		List<Step> steps = new ArrayList<>();
+		if (pointer.isEmpty()) {
+			return steps;
+		}
+		if (!pointer.startsWith("/")) {
+			throw new IllegalArgumentException("A JSON Pointer must be empty or start with '/', and a JSONPath must start with '$': " + pointer);
+		}
+		for (String token : pointer.substring(1).split("/", -1)) {
+			steps.add(Step.named(token.replace("~1", "/").replace("~0", "~")));
+		}
+		return steps;
+	}
+
+	private static List<Step> parseJsonPath(String path) {
+		List<Step> steps = new ArrayList<>();
+		int pos = 1;
+		while (pos < path.length()) {
+			char c = path.charAt(pos);
+			if (c == '.') {
+				int start = ++pos;
+				while (pos < path.length() && path.charAt(pos) != '.' && path.charAt(pos) != '[') {
+					pos++;
+				}
+				String name = path.substring(start, pos);
+				if (name.isEmpty()) {
+					throw unsupported(path, "recursive descent and empty names are not supported");
+				}
+				steps.add(name.equals("*") ? Step.wildcard() : Step.named(name));
+			} else if (c == '[') {
+				int end = path.indexOf(']', pos);
+				if (end < 0) {
+					throw unsupported(path, "unterminated '['");
+				}
+				String token = path.substring(pos + 1, end).trim();
+				if (token.equals("*")) {
+					steps.add(Step.wildcard());
+				} else if (token.matches(INDEX_PATTERN)) {
+					steps.add(Step.indexed(Integer.parseInt(token)));
+				} else if (token.matches("[0-9]+")) {
+					throw unsupported(path, "array index " + token + " is too large");
+				} else if (token.length() >= 2 && (token.charAt(0) == '\'' || token.charAt(0) == '"') && token.charAt(token.length() - 1) == token.charAt(0)) {
+					steps.add(Step.named(token.substring(1, token.length() - 1)));
+				} else {
+					throw unsupported(path, "only names, indexes, and '*' are supported within brackets");
+				}
+				pos = end + 1;
+			} else {
+				throw unsupported(path, "unexpected character '" + c + "' at position " + pos);
+			}
+		}
+		return steps;
+	}
+
+	private static IllegalArgumentException unsupported(String path, String reason) {
+		return new IllegalArgumentException("Unsupported JSONPath: " + path + "; " + reason);
+	}
+
+	/**
+	 * A JSON Pointer token that is a number can select either an array element or an object property, so a step may
+	 * have both a name and an index. A number too large to be an array index only selects an object property.
+	 */
+	private static class Step {
+
+		private String name;
+		private int index = -1;
+		private boolean wildcard;
+
+		static Step named(String name) {
+			Step step = new Step();
+			step.name = name;
+			if (name.matches(INDEX_PATTERN)) {
+				step.index = Integer.parseInt(name);
+			}
+			return step;
+		}
+
+		static Step indexed(int index) {
+			Step step = new Step();
+			step.index = index;
+			return step;
+		}
+
+		static Step wildcard() {
+			Step step = new Step();
+			step.wildcard = true;
+			return step;
+		}
+
+		void select(JsonNode node, List<JsonNode> selected) {
+			if (wildcard) {
+				for (Iterator<JsonNode> iter = node.elements(); iter.hasNext(); ) {
+					selected.add(iter.next());
+				}
+			} else if (node.isArray()) {
+				if (index >= 0 && index < node.size()) {
+					selected.add(node.get(index));
+				}
+			} else if (node.isObject() && name != null && node.has(name)) {
+				selected.add(node.get(name));
+			}
+		}
+	}
+}
@@ -1,8 +1,8 @@
 package com.marklogic.junit5;
 
+import com.marklogic.client.DatabaseClient;
 import com.marklogic.client.ext.helper.DatabaseClientProvider;
 import com.marklogic.client.ext.helper.LoggingObject;
-import com.marklogic.test.unit.TestManager;
 import com.marklogic.test.unit.TestModule;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.provider.Arguments;
@@ -10,28 +10,116 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 /**
  * JUnit 5 ArgumentsProvider that uses a DatabaseClient to retrieve the list of modules provided by the
  * marklogic-unit-test REST endpoint. If any test modules are found, a Stream of TestModule instances is returned, one
  * for each marklogic-unit-test test.
+ * <p>
+ * The list of modules is cached for the lifetime of the JVM via TestModuleListCache. It can also be persisted to a
+ * file by setting the marklogic.junit.testModulesCacheFile JUnit configuration parameter or system property to the
+ * path of the file. If the test class is annotated with MarkLogicUnitTestSuites, only the modules in matching suites
+ * are returned.
+ * <p>
+ * The listing and grouping methods are public so that the test modules can also be run one suite at a time - see
+ * AbstractMarkLogicTest.buildMarkLogicUnitTestSuites.
  */
 public class MarkLogicUnitTestArgumentsProvider extends LoggingObject implements ArgumentsProvider {
 
+	public static final String CACHE_FILE_PARAMETER = "marklogic.junit.testModulesCacheFile";
+
+	private TestModuleListCache testModuleListCache = new TestModuleListCache();
+	private File cacheFile;
+
+	public MarkLogicUnitTestArgumentsProvider() {
+		String path = System.getProperty(CACHE_FILE_PARAMETER);
+		if (path != null) {
+			cacheFile = new File(path);
+		}
+	}
+
 	@Override
 	public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+		File file = context.getConfigurationParameter(CACHE_FILE_PARAMETER).map(File::new).orElse(cacheFile);
 		ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
 		DatabaseClientProvider databaseClientProvider = applicationContext.getBean(DatabaseClientProvider.class);
-		TestManager testManager = new TestManager(databaseClientProvider.getDatabaseClient());
+		List<TestModule> testModules = listTestModules(databaseClientProvider.getDatabaseClient(), context.getRequiredTestClass(), file);
+		return Stream.of(testModules.toArray(new TestModule[]{})).map(Arguments::of);
+	}
+
+	/**
+	 * @param client
+	 * @param testClass if annotated with MarkLogicUnitTestSuites, only modules in matching suites are returned
+	 * @return the marklogic-unit-test modules, or an empty list if they could not be retrieved
+	 */
+	public List<TestModule> listTestModules(DatabaseClient client, Class<?> testClass) {
+		return listTestModules(client, testClass, cacheFile);
+	}
+
+	/**
+	 * @param client
+	 * @param testClass if annotated with MarkLogicUnitTestSuites, only modules in matching suites are returned
+	 * @param cacheFile optional file for persisting the list across JVMs; overrides the one set on this object
+	 * @return the marklogic-unit-test modules, or an empty list if they could not be retrieved
+	 */
+	public List<TestModule> listTestModules(DatabaseClient client, Class<?> testClass, File cacheFile) {
+		List<TestModule> testModules = listTestModules(client, cacheFile);
+		MarkLogicUnitTestSuites annotation = testClass.getAnnotation(MarkLogicUnitTestSuites.class);
+		if (annotation == null) {
+			return testModules;
+		}
+		Pattern pattern = Pattern.compile(annotation.value());
+		List<TestModule> matchingModules = new ArrayList<>();
+		for (TestModule testModule : testModules) {
+			if (pattern.matcher(testModule.getSuite()).matches()) {
+				matchingModules.add(testModule);
+			}
+		}
+		return matchingModules;
+	}
+
+	/**
+	 * @param client
+	 * @return the marklogic-unit-test modules, or an empty list if they could not be retrieved
+	 */
+	public List<TestModule> listTestModules(DatabaseClient client) {
+		return listTestModules(client, cacheFile);
+	}
+
+	private List<TestModule> listTestModules(DatabaseClient client, File cacheFile) {
 		try {
-			List<TestModule> testModules = testManager.list();
-			return Stream.of(testModules.toArray(new TestModule[]{})).map(Arguments::of);
+			return testModuleListCache.getTestModules(client, cacheFile);
 		} catch (Exception ex) {
 			logger.error("Could not obtain a list of marklogic-unit-test modules; " +
 				"please verify that the ml-unit-test library has been properly loaded and that /v1/resources/marklogic-unit-test is accessible", ex);
-			return Stream.of();
+			return new ArrayList<>();
+		}
+	}
+
+	public void setCacheFile(File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+
+	public void setTestModuleListCache(TestModuleListCache testModuleListCache) {
+		this.testModuleListCache = testModuleListCache;
+	}
+
+	/**
+	 * @param testModules
+	 * @return the given test modules grouped by suite name, in the order in which each suite first appears
+	 */
+	public static Map<String, List<TestModule>> groupTestModulesBySuite(List<TestModule> testModules) {
+		Map<String, List<TestModule>> suites = new LinkedHashMap<>();
+		for (TestModule testModule : testModules) {
+			suites.computeIfAbsent(testModule.getSuite(), suite -> new ArrayList<>()).add(testModule);
 		}
+		return suites;
 	}
 }
@@ -0,0 +1,22 @@
+package com.marklogic.junit5;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Apply this to a class that runs marklogic-unit-test modules - e.g. a subclass of MarkLogicUnitTestsTest - so that
+ * it only runs the modules in suites whose names match the given regular expression. This allows the modules to be
+ * split across several test classes; the list of modules is only retrieved once per JVM regardless.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface MarkLogicUnitTestSuites {
+
+	String value();
+}
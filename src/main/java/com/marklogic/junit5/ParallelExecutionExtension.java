@@ -0,0 +1,24 @@
+package com.marklogic.junit5;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Registered by AbstractMarkLogicTest to tell each test instance whether JUnit 5 parallel execution is enabled. The
+ * junit.jupiter.execution.parallel.enabled configuration parameter is read via the ExtensionContext, so it is found
+ * however it was provided - e.g. via the Launcher, a build tool, a system property, or junit-platform.properties.
+ * Callbacks run before any BeforeEach method, so the setting is known when the database is prepared.
+ */
+public class ParallelExecutionExtension implements BeforeEachCallback {
+
+	public static final String PARALLEL_EXECUTION_ENABLED = "junit.jupiter.execution.parallel.enabled";
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		Object testInstance = context.getRequiredTestInstance();
+		if (testInstance instanceof AbstractMarkLogicTest) {
+			boolean enabled = context.getConfigurationParameter(PARALLEL_EXECUTION_ENABLED).map(value -> Boolean.parseBoolean(value.trim())).orElse(false);
+			((AbstractMarkLogicTest) testInstance).setParallelExecutionEnabled(enabled);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.marklogic.junit5;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.datamovement.DataMovementManager;
+import com.marklogic.client.datamovement.DeleteListener;
+import com.marklogic.client.datamovement.JobTicket;
+import com.marklogic.client.datamovement.QueryBatcher;
+import com.marklogic.client.ext.helper.LoggingObject;
+import com.marklogic.client.query.StructuredQueryBuilder;
+import com.marklogic.client.query.StructuredQueryDefinition;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DocumentCleaner that uses a Data Movement SDK QueryBatcher and DeleteListener to delete documents in batches across
+ * every forest in the database, using multiple threads. This avoids the request time limit that a single eval
+ * request can run into when the test database contains a large number of documents.
+ */
+public class QueryBatcherDocumentCleaner extends LoggingObject implements DocumentCleaner {
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+	public static final int DEFAULT_THREAD_COUNT = 8;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private int threadCount = DEFAULT_THREAD_COUNT;
+	private String[] collections;
+
+	private long lastDeletedCount;
+	private long lastDuration;
+
+	public QueryBatcherDocumentCleaner() {
+	}
+
+	/**
+	 * @param batchSize
+	 * @param threadCount
+	 * @param collections if any are specified, only documents in at least one of these collections are deleted
+	 */
+	public QueryBatcherDocumentCleaner(int batchSize, int threadCount, String... collections) {
+		this.batchSize = batchSize;
+		this.threadCount = threadCount;
+		this.collections = collections;
+	}
+
+	@Override
+	public void deleteDocuments(DatabaseClient client) {
+		final long start = System.currentTimeMillis();
+		final AtomicLong deletedCount = new AtomicLong();
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		DeleteListener deleteListener = new DeleteListener()
+			.onFailure((batch, throwable) -> {
+				deletedCount.addAndGet(-batch.getItems().length);
+				failure.compareAndSet(null, throwable);
+			});
+
+		DataMovementManager dataMovementManager = client.newDataMovementManager();
+		QueryBatcher queryBatcher = dataMovementManager.newQueryBatcher(buildQuery())
+			.withBatchSize(batchSize)
+			.withThreadCount(threadCount)
+			.withConsistentSnapshot()
+			.onUrisReady(batch -> deletedCount.addAndGet(batch.getItems().length))
+			.onUrisReady(deleteListener)
+			.onQueryFailure(ex -> failure.compareAndSet(null, ex));
+
+		try {
+			JobTicket jobTicket = dataMovementManager.startJob(queryBatcher);
+			queryBatcher.awaitCompletion();
+			dataMovementManager.stopJob(jobTicket);
+		} finally {
+			dataMovementManager.release();
+		}
+
+		lastDeletedCount = deletedCount.get();
+		lastDuration = System.currentTimeMillis() - start;
+		if (failure.get() != null) {
+			throw new RuntimeException("Unable to delete documents before test runs; cause: " + failure.get().getMessage(), failure.get());
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info(String.format("Deleted %d documents; duration: %d", lastDeletedCount, lastDuration));
+		}
+	}
+
+	protected StructuredQueryDefinition buildQuery() {
+		StructuredQueryBuilder queryBuilder = new StructuredQueryBuilder();
+		return collections != null && collections.length > 0 ?
+			queryBuilder.collection(collections) :
+			queryBuilder.and();
+	}
+
+	/**
+	 * @return the number of documents deleted the last time deleteDocuments was invoked
+	 */
+	public long getLastDeletedCount() {
+		return lastDeletedCount;
+	}
+
+	/**
+	 * @return the duration in milliseconds of the last invocation of deleteDocuments
+	 */
+	public long getLastDuration() {
+		return lastDuration;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public void setThreadCount(int threadCount) {
+		this.threadCount = threadCount;
+	}
+
+	public void setCollections(String... collections) {
+		this.collections = collections;
+	}
+}
@@ -0,0 +1,228 @@
+package com.marklogic.junit5;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.Transaction;
+import com.marklogic.client.eval.ServerEvaluationCall;
+import org.jdom2.Namespace;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates XPath expressions against documents in MarkLogic via a single server-side eval, returning only the number
+ * of items each expression matches and, optionally, their values. This avoids downloading documents just to make
+ * assertions on a handful of values in them - see RemoteXmlNode.
+ * <p>
+ * Each XPath must be an absolute path; it is evaluated relative to fn:doc for the URI it is associated with. The value
+ * of a matched element is its direct text content, as with XmlNode; the value of any other item is its string value.
+ * The collections and permissions of each document can be returned as well - see BatchedDocumentAssertions.
+ */
+public class RemoteXPathEvaluator {
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static final String SCRIPT = "xquery version '1.0-ml';\n" +
+		"declare variable $requests as xs:string external;\n" +
+		"declare variable $namespaces as xs:string external;\n" +
+		"declare variable $collect-values as xs:string external;\n" +
+		"declare variable $include-metadata as xs:string external;\n" +
+		"declare function local:value($item) as xs:string {\n" +
+		"  if ($item instance of element()) then fn:string-join($item/text(), '') else fn:string($item)\n" +
+		"};\n" +
+		"let $ns := json:array-values(xdmp:from-json-string($namespaces))\n" +
+		"let $values := $collect-values = 'true'\n" +
+		"let $metadata := $include-metadata = 'true'\n" +
+		"return array-node {\n" +
+		"  for $request in json:array-values(xdmp:from-json-string($requests))\n" +
+		"  let $uri := map:get($request, 'uri')\n" +
+		"  let $doc := fn:doc($uri)\n" +
+		"  return object-node {\n" +
+		"    'uri': $uri,\n" +
+		"    'exists': fn:exists($doc),\n" +
+		"    'collections': array-node { if ($metadata) then xdmp:document-get-collections($uri) else () },\n" +
+		"    'permissions': array-node { if ($metadata) then xdmp:document-get-permissions($uri) ! object-node {\n" +
+		"      'role': xdmp:role-name(sec:role-id), 'capability': fn:string(sec:capability) } else () },\n" +
+		"    'results': array-node {\n" +
+		"      if (fn:empty($doc)) then () else\n" +
+		"      for $xpath in json:array-values(map:get($request, 'xpaths'))\n" +
+		"      return try {\n" +
+		"        let $items := xdmp:with-namespaces($ns, xdmp:value('$doc' || $xpath))\n" +
+		"        return object-node {\n" +
+		"          'count': fn:count($items),\n" +
+		"          'values': array-node { if ($values) then $items ! local:value(.) else () }\n" +
+		"        }\n" +
+		"      } catch ($e) {\n" +
+		"        object-node { 'error': fn:string(($e/error:format-string, $e/error:message)[1]) }\n" +
+		"      }\n" +
+		"    }\n" +
+		"  }\n" +
+		"}";
+
+	private final DatabaseClient client;
+	private final Transaction transaction;
+	private final Namespace[] namespaces;
+
+	/**
+	 * @param client
+	 * @param transaction optional; if not null, the documents are read within this transaction
+	 * @param namespaces  used to resolve the prefixes in XPath expressions
+	 */
+	public RemoteXPathEvaluator(DatabaseClient client, Transaction transaction, Namespace... namespaces) {
+		this.client = client;
+		this.transaction = transaction;
+		this.namespaces = namespaces;
+	}
+
+	/**
+	 * @param xpathsByUri   for each URI, the XPath expressions to evaluate against the document at that URI
+	 * @param collectValues whether to return the value of every matched item, or just the number of matched items
+	 * @return a DocumentResult for each URI, in the same order
+	 */
+	public Map<String, DocumentResult> evaluate(Map<String, List<String>> xpathsByUri, boolean collectValues) {
+		return evaluate(xpathsByUri, collectValues, false);
+	}
+
+	/**
+	 * @param xpathsByUri     for each URI, the XPath expressions to evaluate against the document at that URI
+	 * @param collectValues   whether to return the value of every matched item, or just the number of matched items
+	 * @param includeMetadata whether to return the collections and permissions of each document
+	 * @return a DocumentResult for each URI, in the same order
+	 */
+	public Map<String, DocumentResult> evaluate(Map<String, List<String>> xpathsByUri, boolean collectValues, boolean includeMetadata) {
+		ArrayNode requests = objectMapper.createArrayNode();
+		for (Map.Entry<String, List<String>> entry : xpathsByUri.entrySet()) {
+			ObjectNode request = requests.addObject();
+			request.put("uri", entry.getKey());
+			ArrayNode xpaths = request.putArray("xpaths");
+			entry.getValue().forEach(xpaths::add);
+		}
+
+		ArrayNode ns = objectMapper.createArrayNode();
+		if (namespaces != null) {
+			for (Namespace namespace : namespaces) {
+				ns.add(namespace.getPrefix());
+				ns.add(namespace.getURI());
+			}
+		}
+
+		ServerEvaluationCall call = client.newServerEval().xquery(SCRIPT)
+			.addVariable("requests", requests.toString())
+			.addVariable("namespaces", ns.toString())
+			.addVariable("collect-values", String.valueOf(collectValues))
+			.addVariable("include-metadata", String.valueOf(includeMetadata));
+		if (transaction != null) {
+			call.transaction(transaction);
+		}
+
+		JsonNode response;
+		try {
+			response = objectMapper.readTree(call.evalAs(String.class));
+		} catch (IOException ex) {
+			throw new RuntimeException("Unable to parse response from evaluating XPath expressions: " + ex.getMessage(), ex);
+		}
+
+		Map<String, DocumentResult> results = new LinkedHashMap<>();
+		for (JsonNode doc : response) {
+			String uri = doc.get("uri").asText();
+			DocumentResult documentResult = new DocumentResult(doc.get("exists").asBoolean());
+			for (JsonNode collection : doc.get("collections")) {
+				documentResult.collections.add(collection.asText());
+			}
+			for (JsonNode permission : doc.get("permissions")) {
+				documentResult.permissions.computeIfAbsent(permission.get("role").asText(), role -> new HashSet<>())
+					.add(permission.get("capability").asText());
+			}
+			List<String> xpaths = xpathsByUri.get(uri);
+			JsonNode xpathResults = doc.get("results");
+			for (int i = 0; i < xpathResults.size(); i++) {
+				JsonNode result = xpathResults.get(i);
+				XPathResult xpathResult = new XPathResult();
+				if (result.has("error")) {
+					xpathResult.error = result.get("error").asText();
+				} else {
+					xpathResult.count = result.get("count").asInt();
+					for (JsonNode value : result.get("values")) {
+						xpathResult.values.add(value.asText());
+					}
+				}
+				documentResult.results.put(xpaths.get(i), xpathResult);
+			}
+			results.put(uri, documentResult);
+		}
+		return results;
+	}
+
+	/**
+	 * The results of evaluating XPath expressions against a single document.
+	 */
+	public static class DocumentResult {
+
+		private final boolean exists;
+		private final Map<String, XPathResult> results = new LinkedHashMap<>();
+		private final List<String> collections = new ArrayList<>();
+		private final Map<String, Set<String>> permissions = new HashMap<>();
+
+		DocumentResult(boolean exists) {
+			this.exists = exists;
+		}
+
+		public boolean isExists() {
+			return exists;
+		}
+
+		/**
+		 * @return the collections of the document; only populated if metadata was requested
+		 */
+		public List<String> getCollections() {
+			return collections;
+		}
+
+		/**
+		 * @return a map of role name to capabilities, e.g. "read" and "update"; only populated if metadata was requested
+		 */
+		public Map<String, Set<String>> getPermissions() {
+			return permissions;
+		}
+
+		/**
+		 * @param xpath
+		 * @return the result for the given XPath, or null if the document does not exist
+		 */
+		public XPathResult getResult(String xpath) {
+			return results.get(xpath);
+		}
+	}
+
+	/**
+	 * The result of evaluating a single XPath expression; if the expression could not be evaluated, error describes
+	 * why, and count is 0.
+	 */
+	public static class XPathResult {
+
+		private int count;
+		private List<String> values = new ArrayList<>();
+		private String error;
+
+		public int getCount() {
+			return count;
+		}
+
+		public List<String> getValues() {
+			return values;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package com.marklogic.junit5;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Counterpart to XmlNode for making XPath-based assertions on a document in MarkLogic without downloading it. The
+ * assert methods don't make a request; they queue an assertion, and verify evaluates the XPath of every queued
+ * assertion in a single request via RemoteXPathEvaluator and reports every failure at once. For example:
+ * <pre>
+ * newRemoteXmlNode("/large.xml")
+ *   .assertElementValue("/m:message/m:size", "medium")
+ *   .assertElementCount("/m:message/m:color", 2)
+ *   .verify();
+ * </pre>
+ * getElementValue and getElementCount return a value, so they make a request immediately.
+ * <p>
+ * A queued assertion that is never verified would otherwise pass silently, so AbstractMarkLogicTest fails a test
+ * method that leaves assertions unverified on a RemoteXmlNode returned by newRemoteXmlNode.
+ */
+public class RemoteXmlNode {
+
+	private final String uri;
+	private final RemoteXPathEvaluator evaluator;
+	private final List<PendingAssertion> pendingAssertions = new ArrayList<>();
+
+	public RemoteXmlNode(String uri, RemoteXPathEvaluator evaluator) {
+		this.uri = uri;
+		this.evaluator = evaluator;
+	}
+
+	public RemoteXmlNode assertElementValue(String xpath, String value) {
+		return assertElementValue(null, xpath, value);
+	}
+
+	public RemoteXmlNode assertElementValue(String message, String xpath, String value) {
+		return addAssertion(xpath, true, result -> () -> {
+			Assertions.assertTrue(result.getCount() > 0, message + ";\nCould not find at least one element, xpath: " + xpath);
+			Assertions.assertTrue(result.getValues().contains(value), message + ";\nNo element has value '" + value +
+				"'; xpath: " + xpath + "; values: " + result.getValues());
+		});
+	}
+
+	public RemoteXmlNode assertElementExists(String xpath) {
+		return assertElementExists(null, xpath);
+	}
+
+	public RemoteXmlNode assertElementExists(String message, String xpath) {
+		return addAssertion(xpath, false, result -> () -> assertOneElement(message, result.getCount(), xpath));
+	}
+
+	public RemoteXmlNode assertElementMissing(String message, String xpath) {
+		return addAssertion(xpath, false, result -> () ->
+			Assertions.assertEquals(0, result.getCount(), message + ";\nexpected no elements matching xpath " + xpath));
+	}
+
+	public RemoteXmlNode assertElementCount(String xpath, int count) {
+		return assertElementCount(null, xpath, count);
+	}
+
+	public RemoteXmlNode assertElementCount(String message, String xpath, int count) {
+		return addAssertion(xpath, false, result -> () ->
+			Assertions.assertEquals(count, result.getCount(), message + ";\nUnexpected number of elements matching xpath: " + xpath));
+	}
+
+	public RemoteXmlNode assertElementCounts(Map<String, Integer> xpathsAndCounts) {
+		for (Map.Entry<String, Integer> entry : xpathsAndCounts.entrySet()) {
+			assertElementCount(entry.getKey(), entry.getValue());
+		}
+		return this;
+	}
+
+	/**
+	 * Evaluates the XPath of every queued assertion in a single request, and then reports every failed assertion at
+	 * once. The queue is cleared, so this RemoteXmlNode can be reused for another set of assertions.
+	 */
+	public void verify() {
+		if (pendingAssertions.isEmpty()) {
+			return;
+		}
+		List<PendingAssertion> assertions = new ArrayList<>(pendingAssertions);
+		pendingAssertions.clear();
+
+		LinkedHashSet<String> xpaths = new LinkedHashSet<>();
+		boolean collectValues = false;
+		for (PendingAssertion assertion : assertions) {
+			xpaths.add(assertion.xpath);
+			collectValues |= assertion.needsValues;
+		}
+
+		RemoteXPathEvaluator.DocumentResult documentResult = evaluate(new ArrayList<>(xpaths), collectValues);
+		List<Executable> executables = new ArrayList<>();
+		for (PendingAssertion assertion : assertions) {
+			RemoteXPathEvaluator.XPathResult result = documentResult.getResult(assertion.xpath);
+			if (result.getError() != null) {
+				executables.add(() -> Assertions.fail("Unable to evaluate xpath: " + assertion.xpath + "; cause: " + result.getError()));
+			} else {
+				executables.add(assertion.assertion.apply(result));
+			}
+		}
+		Assertions.assertAll("Assertions on document at URI: " + uri, executables);
+	}
+
+	public String getElementValue(String xpath) {
+		RemoteXPathEvaluator.XPathResult result = evaluateImmediately(xpath, true);
+		assertOneElement("", result.getCount(), xpath);
+		return result.getValues().get(0);
+	}
+
+	public int getElementCount(String xpath) {
+		return evaluateImmediately(xpath, false).getCount();
+	}
+
+	private RemoteXPathEvaluator.XPathResult evaluateImmediately(String xpath, boolean collectValues) {
+		RemoteXPathEvaluator.XPathResult result = evaluate(Collections.singletonList(xpath), collectValues).getResult(xpath);
+		if (result.getError() != null) {
+			throw new IllegalArgumentException("Unable to evaluate xpath: " + xpath + "; cause: " + result.getError());
+		}
+		return result;
+	}
+
+	private RemoteXPathEvaluator.DocumentResult evaluate(List<String> xpaths, boolean collectValues) {
+		RemoteXPathEvaluator.DocumentResult documentResult = evaluator
+			.evaluate(Collections.singletonMap(uri, xpaths), collectValues).get(uri);
+		Assertions.assertTrue(documentResult.isExists(), "Could not find document at URI: " + uri);
+		return documentResult;
+	}
+
+	private void assertOneElement(String message, int count, String xpath) {
+		Assertions.assertTrue(count == 1, message + ";\nExpected 1 element, but found " + count + "; xpath: " + xpath);
+	}
+
+	private RemoteXmlNode addAssertion(String xpath, boolean needsValues, Function<RemoteXPathEvaluator.XPathResult, Executable> assertion) {
+		pendingAssertions.add(new PendingAssertion(xpath, needsValues, assertion));
+		return this;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * @return the number of assertions that have been queued but not yet verified
+	 */
+	public int getPendingAssertionCount() {
+		return pendingAssertions.size();
+	}
+
+	private static class PendingAssertion {
+
+		private final String xpath;
+		private final boolean needsValues;
+		private final Function<RemoteXPathEvaluator.XPathResult, Executable> assertion;
+
+		PendingAssertion(String xpath, boolean needsValues, Function<RemoteXPathEvaluator.XPathResult, Executable> assertion) {
+			this.xpath = xpath;
+			this.needsValues = needsValues;
+			this.assertion = assertion;
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.marklogic.junit5;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Counterpart to JsonNodeTester for JSON documents too large to hold in memory as a tree. Each assertion reads the
+ * document from an InputStream via a Jackson JsonParser, created by the ObjectMapper shared with JsonNodeTester, and
+ * evaluates its path as the tokens stream past. Containers that cannot contain a selected value are skipped without
+ * being materialized, and only the values of selected scalars are retained. assertElementCounts evaluates any number
+ * of paths in a single pass.
+ * <p>
+ * As with StreamingXmlNode, every assertion obtains a new InputStream from the Supplier given to the constructor.
+ */
+public class StreamingJsonNodeTester {
+
+	private final String uri;
+	private final Supplier<InputStream> source;
+
+	/**
+	 * @param uri    used in failure messages; may be null
+	 * @param source supplies a new InputStream containing the JSON each time it is invoked; the stream is closed
+	 *               after it has been read
+	 */
+	public StreamingJsonNodeTester(String uri, Supplier<InputStream> source) {
+		this.uri = uri;
+		this.source = source;
+	}
+
+	public void assertElementValue(String path, String value) {
+		assertElementValue(null, path, value);
+	}
+
+	public void assertElementValue(String message, String path, String value) {
+		List<String> values = evaluate(path, true).values;
+		Assertions.assertTrue(values.size() > 0, message + ";\nCould not find at least one value, path: " + path + describeUri());
+		Assertions.assertTrue(values.contains(value), () -> message + ";\nNo value equals '" + value + "'; path: " + path +
+			"; values: " + values + describeUri());
+	}
+
+	public String getElementValue(String path) {
+		Match match = evaluate(path, true);
+		assertOneValue("", match.count, path);
+		return match.values.get(0);
+	}
+
+	public void assertElementExists(String path) {
+		assertElementExists(null, path);
+	}
+
+	public void assertElementExists(String message, String path) {
+		assertOneValue(message, getElementCount(path), path);
+	}
+
+	public void assertElementMissing(String message, String path) {
+		Assertions.assertEquals(0, getElementCount(path), message + ";\nexpected no values matching path " + path + describeUri());
+	}
+
+	public void assertElementCount(String path, int count) {
+		assertElementCount(null, path, count);
+	}
+
+	public void assertElementCount(String message, String path, int count) {
+		Assertions.assertEquals(count, getElementCount(path), message + ";\nUnexpected number of values matching path: " + path + describeUri());
+	}
+
+	public void assertElementCounts(Map<String, Integer> pathsAndCounts) {
+		assertElementCounts(null, pathsAndCounts);
+	}
+
+	/**
+	 * Verifies the number of values selected by each path in the given map via a single pass over the document.
+	 * Every mismatch is reported in a single failure.
+	 *
+	 * @param message
+	 * @param pathsAndCounts
+	 */
+	public void assertElementCounts(String message, Map<String, Integer> pathsAndCounts) {
+		List<String> paths = new ArrayList<>(pathsAndCounts.keySet());
+		List<Match> matches = evaluate(paths, false);
+		List<Executable> assertions = new ArrayList<>();
+		for (int i = 0; i < paths.size(); i++) {
+			final String path = paths.get(i);
+			final int expectedCount = pathsAndCounts.get(path);
+			final int actualCount = matches.get(i).count;
+			assertions.add(() -> Assertions.assertEquals(expectedCount, actualCount, "Unexpected number of values matching path: " + path));
+		}
+		Assertions.assertAll(message + describeUri(), assertions);
+	}
+
+	public int getElementCount(String path) {
+		return evaluate(path, false).count;
+	}
+
+	private void assertOneValue(String message, int count, String path) {
+		Assertions.assertTrue(count == 1, message + ";\nExpected 1 value, but found " + count + "; path: " + path + describeUri());
+	}
+
+	private String describeUri() {
+		return uri != null ? "; URI: " + uri : "";
+	}
+
+	private Match evaluate(String path, boolean collectValues) {
+		return evaluate(Collections.singletonList(path), collectValues).get(0);
+	}
+
+	/**
+	 * Evaluates every given path in a single pass over the document. The location of the current value is tracked
+	 * via a stack of the containers enclosing it; a path "survives" a container if every step up to the container's
+	 * depth matched, and a container that no path survives is skipped.
+	 *
+	 * @param paths
+	 * @param collectValues whether to retain the value of every selected node; the value of a container is an empty
+	 *                      string, as with JsonNodeTester
+	 * @return a Match for each path, in the same order
+	 */
+	protected List<Match> evaluate(List<String> paths, boolean collectValues) {
+		int size = paths.size();
+		List<JsonPath> compiled = new ArrayList<>(size);
+		List<Match> matches = new ArrayList<>(size);
+		for (String path : paths) {
+			compiled.add(JsonPath.compile(path));
+			matches.add(new Match());
+		}
+
+		List<Container> containers = new ArrayList<>();
+		try (InputStream in = source.get(); JsonParser parser = JsonNodeTester.getObjectMapper().getFactory().createParser(in)) {
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.FIELD_NAME) {
+					containers.get(containers.size() - 1).fieldName = parser.getCurrentName();
+					continue;
+				}
+				if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+					containers.remove(containers.size() - 1);
+					continue;
+				}
+
+				// The token starts a value; determine which paths select it or may select a descendant of it
+				Container parent = containers.isEmpty() ? null : containers.get(containers.size() - 1);
+				if (parent != null && parent.array) {
+					parent.index++;
+				}
+				int depth = containers.size();
+				boolean[] surviving = new boolean[size];
+				boolean anySurviving = false;
+				for (int i = 0; i < size; i++) {
+					JsonPath path = compiled.get(i);
+					boolean alive = parent == null || parent.surviving[i];
+					if (alive && depth > 0) {
+						alive = depth <= path.getStepCount() && path.matchesStep(depth - 1, parent.array, parent.fieldName, parent.index);
+					}
+					if (alive && depth == path.getStepCount()) {
+						Match match = matches.get(i);
+						match.count++;
+						if (collectValues) {
+							match.values.add(token.isScalarValue() ? parser.getText() : "");
+						}
+					} else if (alive) {
+						surviving[i] = true;
+						anySurviving = true;
+					}
+				}
+
+				if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+					if (anySurviving) {
+						containers.add(new Container(token == JsonToken.START_ARRAY, surviving));
+					} else {
+						parser.skipChildren();
+					}
+				}
+			}
+		} catch (IOException ex) {
+			throw new RuntimeException("Unable to read JSON" + describeUri() + "; cause: " + ex.getMessage(), ex);
+		}
+		return matches;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * The values selected by a path; values is only populated when requested.
+	 */
+	protected static class Match {
+
+		protected int count;
+		protected List<String> values = new ArrayList<>();
+	}
+
+	/**
+	 * An open object or array, along with the paths that may select one of its descendants.
+	 */
+	private static class Container {
+
+		private final boolean array;
+		private final boolean[] surviving;
+		private String fieldName;
+		private int index = -1;
+
+		Container(boolean array, boolean[] surviving) {
+			this.array = array;
+			this.surviving = surviving;
+		}
+	}
+}
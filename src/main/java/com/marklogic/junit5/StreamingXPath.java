@@ -0,0 +1,295 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Namespace;
+
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A compiled XPath expression that can be matched against elements as they are read from a StAX XMLStreamReader,
+ * without building a tree - see StreamingXmlNode. Only a restricted subset of XPath is supported:
+ * <ul>
+ * <li>an absolute location path made up of child ("/") and descendant ("//") steps</li>
+ * <li>element name tests, optionally prefixed, and "*"</li>
+ * <li>predicates on attributes, e.g. [@id] and [@id='1'], and a positional predicate, e.g. [2], which must be the
+ * last predicate of its step</li>
+ * </ul>
+ * Any other expression causes an IllegalArgumentException when compiled.
+ * <p>
+ * Matching is done by tracking, for each open element, which steps of the path may be matched by its children. This
+ * state is kept in a Frame that the caller pushes for each element and pops when the element ends.
+ */
+public class StreamingXPath {
+
+	private final String xpath;
+	private final List<Step> steps = new ArrayList<>();
+
+	/**
+	 * @param xpath
+	 * @param namespaces used to resolve the prefixes in the expression
+	 */
+	public StreamingXPath(String xpath, Namespace... namespaces) {
+		this.xpath = xpath;
+		new Parser(xpath, namespaces).parse(steps);
+	}
+
+	/**
+	 * @return the state for the document node, i.e. before the root element has been read
+	 */
+	public Frame newDocumentFrame() {
+		Frame frame = new Frame(steps.size());
+		frame.states.set(0);
+		return frame;
+	}
+
+	/**
+	 * To be invoked when the reader is positioned on a start element.
+	 *
+	 * @param reader
+	 * @param parent the frame of the parent of the element, or the document frame for the root element
+	 * @return the frame for the element; its matched flag indicates whether the element is selected by this XPath
+	 */
+	public Frame startElement(XMLStreamReader reader, Frame parent) {
+		Frame frame = new Frame(steps.size());
+		int last = steps.size() - 1;
+		for (int i = parent.states.nextSetBit(0); i >= 0; i = parent.states.nextSetBit(i + 1)) {
+			Step step = steps.get(i);
+			if (step.descendant) {
+				frame.states.set(i);
+			}
+			if (step.matches(reader, parent.childCounts, i)) {
+				if (i == last) {
+					frame.matched = true;
+				} else {
+					frame.states.set(i + 1);
+				}
+			}
+		}
+		return frame;
+	}
+
+	public String getXpath() {
+		return xpath;
+	}
+
+	@Override
+	public String toString() {
+		return xpath;
+	}
+
+	/**
+	 * Matching state for a single open element.
+	 */
+	public static class Frame {
+
+		private final BitSet states = new BitSet();
+		private final int[] childCounts;
+		private boolean matched;
+
+		Frame(int stepCount) {
+			this.childCounts = new int[stepCount];
+		}
+
+		public boolean isMatched() {
+			return matched;
+		}
+
+		/**
+		 * @return true if neither this element nor any of its descendants can be matched
+		 */
+		public boolean isDead() {
+			return states.isEmpty();
+		}
+	}
+
+	private static class Step {
+
+		private boolean descendant;
+		private String namespaceUri;
+		private String localName;
+		private List<String[]> attributePredicates = new ArrayList<>();
+		private int position;
+
+		/**
+		 * @param reader
+		 * @param childCounts the number of children of the parent matched so far by each step, for positional
+		 *                    predicates
+		 * @param stepIndex
+		 */
+		boolean matches(XMLStreamReader reader, int[] childCounts, int stepIndex) {
+			if (localName != null) {
+				if (!localName.equals(reader.getLocalName()) || !namespaceUri.equals(emptyIfNull(reader.getNamespaceURI()))) {
+					return false;
+				}
+			}
+			for (String[] predicate : attributePredicates) {
+				String value = getAttributeValue(reader, predicate[0], predicate[1]);
+				if (value == null || (predicate[2] != null && !predicate[2].equals(value))) {
+					return false;
+				}
+			}
+			if (position > 0) {
+				return ++childCounts[stepIndex] == position;
+			}
+			return true;
+		}
+
+		private static String getAttributeValue(XMLStreamReader reader, String namespaceUri, String localName) {
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				if (localName.equals(reader.getAttributeLocalName(i)) && namespaceUri.equals(emptyIfNull(reader.getAttributeNamespace(i)))) {
+					return reader.getAttributeValue(i);
+				}
+			}
+			return null;
+		}
+	}
+
+	private static String emptyIfNull(String s) {
+		return s != null ? s : "";
+	}
+
+	private static class Parser {
+
+		private final String xpath;
+		private final Namespace[] namespaces;
+		private int pos;
+
+		Parser(String xpath, Namespace[] namespaces) {
+			this.xpath = xpath.trim();
+			this.namespaces = namespaces;
+		}
+
+		void parse(List<Step> steps) {
+			if (!xpath.startsWith("/")) {
+				throw unsupported("only absolute paths are supported");
+			}
+			while (pos < xpath.length()) {
+				Step step = new Step();
+				expect('/');
+				if (peek() == '/') {
+					pos++;
+					step.descendant = true;
+				}
+				parseNameTest(step);
+				while (peek() == '[') {
+					pos++;
+					parsePredicate(step);
+				}
+				steps.add(step);
+			}
+		}
+
+		private void parseNameTest(Step step) {
+			if (peek() == '*') {
+				pos++;
+				return;
+			}
+			String name = readName();
+			if (name.isEmpty()) {
+				throw unsupported("expected an element name at position " + pos);
+			}
+			String[] qname = resolve(name);
+			step.namespaceUri = qname[0];
+			step.localName = qname[1];
+		}
+
+		private void parsePredicate(Step step) {
+			skipWhitespace();
+			if (step.position > 0) {
+				throw unsupported("a positional predicate must be the last predicate of its step");
+			}
+			if (peek() == '@') {
+				pos++;
+				String[] qname = resolve(readName());
+				String value = null;
+				skipWhitespace();
+				if (peek() == '=') {
+					pos++;
+					skipWhitespace();
+					value = readLiteral();
+				}
+				step.attributePredicates.add(new String[]{qname[0], qname[1], value});
+			} else if (Character.isDigit(peek())) {
+				int start = pos;
+				while (Character.isDigit(peek())) {
+					pos++;
+				}
+				step.position = Integer.parseInt(xpath.substring(start, pos));
+			} else {
+				throw unsupported("only attribute and positional predicates are supported");
+			}
+			skipWhitespace();
+			expect(']');
+		}
+
+		/**
+		 * @return the namespace URI and local name of the given name; an unprefixed name is in no namespace, as in
+		 * XPath 1.0
+		 */
+		private String[] resolve(String name) {
+			int index = name.indexOf(':');
+			if (index < 0) {
+				return new String[]{"", name};
+			}
+			String prefix = name.substring(0, index);
+			if (namespaces != null) {
+				for (Namespace ns : namespaces) {
+					if (ns.getPrefix().equals(prefix)) {
+						return new String[]{ns.getURI(), name.substring(index + 1)};
+					}
+				}
+			}
+			throw new IllegalArgumentException("Unrecognized namespace prefix '" + prefix + "' in xpath: " + xpath);
+		}
+
+		private String readName() {
+			int start = pos;
+			while (pos < xpath.length()) {
+				char c = xpath.charAt(pos);
+				if (Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == ':') {
+					pos++;
+				} else {
+					break;
+				}
+			}
+			return xpath.substring(start, pos);
+		}
+
+		private String readLiteral() {
+			char quote = peek();
+			if (quote != '\'' && quote != '"') {
+				throw unsupported("expected a quoted value at position " + pos);
+			}
+			int end = xpath.indexOf(quote, pos + 1);
+			if (end < 0) {
+				throw unsupported("unterminated string literal");
+			}
+			String value = xpath.substring(pos + 1, end);
+			pos = end + 1;
+			return value;
+		}
+
+		private void skipWhitespace() {
+			while (pos < xpath.length() && Character.isWhitespace(xpath.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		private char peek() {
+			return pos < xpath.length() ? xpath.charAt(pos) : 0;
+		}
+
+		private void expect(char c) {
+			if (peek() != c) {
+				throw unsupported("expected '" + c + "' at position " + pos);
+			}
+			pos++;
+		}
+
+		private IllegalArgumentException unsupported(String reason) {
+			return new IllegalArgumentException("Unsupported xpath for streaming evaluation: " + xpath + "; " + reason);
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Namespace;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Counterpart to XmlNode for documents too large to hold in memory as a tree. Each assertion reads the document from
+ * an InputStream via StAX and evaluates its XPath as the elements stream past, only retaining the text of matching
+ * elements when a value is needed. assertElementCounts evaluates any number of XPaths in a single pass.
+ * <p>
+ * Only the restricted subset of XPath described by StreamingXPath is supported. As with XmlNode, the value of an
+ * element is its direct text content.
+ * <p>
+ * Every assertion obtains a new InputStream from the Supplier given to the constructor, so for a document in
+ * MarkLogic, every assertion reads the document again - use assertElementCounts to minimize the number of reads.
+ */
+public class StreamingXmlNode {
+
+	private static final XMLInputFactory xmlInputFactory = newXmlInputFactory();
+
+	private final String uri;
+	private final Supplier<InputStream> source;
+	private final Namespace[] namespaces;
+
+	/**
+	 * @param uri        used in failure messages; may be null
+	 * @param source     supplies a new InputStream containing the XML each time it is invoked; the stream is closed
+	 *                   after it has been read
+	 * @param namespaces used to resolve the prefixes in XPath expressions
+	 */
+	public StreamingXmlNode(String uri, Supplier<InputStream> source, Namespace... namespaces) {
+		this.uri = uri;
+		this.source = source;
+		this.namespaces = namespaces;
+	}
+
+	public void assertElementValue(String xpath, String value) {
+		assertElementValue(null, xpath, value);
+	}
+
+	public void assertElementValue(String message, String xpath, String value) {
+		List<String> values = evaluate(xpath, true).values;
+		Assertions.assertTrue(values.size() > 0, message + ";\nCould not find at least one element, xpath: " + xpath + describeUri());
+		Assertions.assertTrue(values.contains(value), () -> message + ";\nNo element has value '" + value + "'; xpath: " + xpath +
+			"; values: " + values + describeUri());
+	}
+
+	public String getElementValue(String xpath) {
+		Match match = evaluate(xpath, true);
+		assertOneElement("", match.count, xpath);
+		return match.values.get(0);
+	}
+
+	public void assertElementExists(String xpath) {
+		assertElementExists(null, xpath);
+	}
+
+	public void assertElementExists(String message, String xpath) {
+		assertOneElement(message, getElementCount(xpath), xpath);
+	}
+
+	public void assertElementMissing(String message, String xpath) {
+		Assertions.assertEquals(0, getElementCount(xpath), message + ";\nexpected no elements matching xpath " + xpath + describeUri());
+	}
+
+	public void assertElementCount(String xpath, int count) {
+		assertElementCount(null, xpath, count);
+	}
+
+	public void assertElementCount(String message, String xpath, int count) {
+		Assertions.assertEquals(count, getElementCount(xpath), message + ";\nUnexpected number of elements matching xpath: " + xpath + describeUri());
+	}
+
+	public void assertElementCounts(Map<String, Integer> xpathsAndCounts) {
+		assertElementCounts(null, xpathsAndCounts);
+	}
+
+	/**
+	 * Verifies the number of elements matched by each XPath in the given map via a single pass over the document.
+	 * Every mismatch is reported in a single failure.
+	 *
+	 * @param message
+	 * @param xpathsAndCounts
+	 */
+	public void assertElementCounts(String message, Map<String, Integer> xpathsAndCounts) {
+		List<String> xpaths = new ArrayList<>(xpathsAndCounts.keySet());
+		List<Match> matches = evaluate(xpaths, false);
+		List<Executable> assertions = new ArrayList<>();
+		for (int i = 0; i < xpaths.size(); i++) {
+			final String xpath = xpaths.get(i);
+			final int expectedCount = xpathsAndCounts.get(xpath);
+			final int actualCount = matches.get(i).count;
+			assertions.add(() -> Assertions.assertEquals(expectedCount, actualCount, "Unexpected number of elements matching xpath: " + xpath));
+		}
+		Assertions.assertAll(message + describeUri(), assertions);
+	}
+
+	public int getElementCount(String xpath) {
+		return evaluate(xpath, false).count;
+	}
+
+	private void assertOneElement(String message, int count, String xpath) {
+		Assertions.assertTrue(count == 1, message + ";\nExpected 1 element, but found " + count + "; xpath: " + xpath + describeUri());
+	}
+
+	private String describeUri() {
+		return uri != null ? "; URI: " + uri : "";
+	}
+
+	private Match evaluate(String xpath, boolean collectValues) {
+		return evaluate(Collections.singletonList(xpath), collectValues).get(0);
+	}
+
+	/**
+	 * Evaluates every given XPath in a single pass over the document.
+	 *
+	 * @param xpaths
+	 * @param collectValues whether to retain the text of every matching element
+	 * @return a Match for each XPath, in the same order
+	 */
+	protected List<Match> evaluate(List<String> xpaths, boolean collectValues) {
+		int size = xpaths.size();
+		List<StreamingXPath> compiled = new ArrayList<>(size);
+		List<Match> matches = new ArrayList<>(size);
+		StreamingXPath.Frame[] documentFrames = new StreamingXPath.Frame[size];
+		for (int i = 0; i < size; i++) {
+			StreamingXPath xpath = new StreamingXPath(xpaths.get(i), namespaces);
+			compiled.add(xpath);
+			matches.add(new Match());
+			documentFrames[i] = xpath.newDocumentFrame();
+		}
+
+		Deque<Level> levels = new ArrayDeque<>();
+		levels.push(new Level(documentFrames, false));
+		final Level deadLevel = new Level(null, true);
+
+		try (InputStream in = source.get()) {
+			XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+			try {
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						Level parent = levels.peek();
+						if (parent.dead) {
+							levels.push(deadLevel);
+							continue;
+						}
+						StreamingXPath.Frame[] frames = new StreamingXPath.Frame[size];
+						boolean dead = true;
+						boolean matched = false;
+						for (int i = 0; i < size; i++) {
+							frames[i] = compiled.get(i).startElement(reader, parent.frames[i]);
+							dead &= frames[i].isDead();
+							if (frames[i].isMatched()) {
+								matched = true;
+								matches.get(i).count++;
+							}
+						}
+						Level level = new Level(frames, dead);
+						if (matched && collectValues) {
+							level.text = new StringBuilder();
+						}
+						levels.push(level);
+					} else if (event == XMLStreamConstants.END_ELEMENT) {
+						Level level = levels.pop();
+						if (level.text != null) {
+							String text = level.text.toString();
+							for (int i = 0; i < size; i++) {
+								if (level.frames[i].isMatched()) {
+									matches.get(i).values.add(text);
+								}
+							}
+						}
+					} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE) {
+						Level level = levels.peek();
+						if (level.text != null) {
+							level.text.append(reader.getText());
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException | IOException ex) {
+			throw new RuntimeException("Unable to read XML" + describeUri() + "; cause: " + ex.getMessage(), ex);
+		}
+		return matches;
+	}
+
+	private static XMLInputFactory newXmlInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public Namespace[] getNamespaces() {
+		return namespaces;
+	}
+
+	/**
+	 * The elements matched by an XPath; values is only populated when requested.
+	 */
+	protected static class Match {
+
+		protected int count;
+		protected List<String> values = new ArrayList<>();
+	}
+
+	/**
+	 * Matching state for an open element. A dead level is one whose descendants cannot match any XPath, and thus
+	 * the frames of its descendants need not be computed; the element itself may still have been matched.
+	 */
+	private static class Level {
+
+		private final StreamingXPath.Frame[] frames;
+		private final boolean dead;
+		private StringBuilder text;
+
+		Level(StreamingXPath.Frame[] frames, boolean dead) {
+			this.frames = frames;
+			this.dead = dead;
+		}
+	}
+}
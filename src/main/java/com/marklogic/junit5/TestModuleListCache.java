@@ -0,0 +1,120 @@
+package com.marklogic.junit5;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.ext.helper.LoggingObject;
+import com.marklogic.test.unit.TestManager;
+import com.marklogic.test.unit.TestModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the list of marklogic-unit-test modules for the lifetime of the JVM, keyed on the host, port, and database
+ * of the DatabaseClient used to retrieve the list.
+ * <p>
+ * If a cache file is specified, the list is also persisted to that file along with a fingerprint of the test modules
+ * in the modules database, so that a later JVM - e.g. a re-run in an IDE - can reuse the list as long as the test
+ * modules have not changed. Computing the fingerprint is much cheaper than listing the test modules, but it does
+ * require a request. If the application server reads modules from the filesystem, no fingerprint can be computed and
+ * the cache file is not used; nor is it used if the fingerprint cannot be computed, e.g. because the user is not
+ * permitted to evaluate code.
+ */
+public class TestModuleListCache extends LoggingObject {
+
+	private static final Map<String, List<TestModule>> testModules = new ConcurrentHashMap<>();
+
+	private static final String FINGERPRINT_SCRIPT = "xquery version '1.0-ml';\n" +
+		"let $db := xdmp:modules-database()\n" +
+		"return if ($db eq 0) then '' else xdmp:invoke-function(function() {\n" +
+		"  xdmp:md5(fn:string-join(\n" +
+		"    for $uri in cts:uris((), (), cts:directory-query('/test/', 'infinity'))\n" +
+		"    return $uri || '@' || xdmp:document-timestamp($uri), ';'))\n" +
+		"}, <options xmlns='xdmp:eval'><database>{$db}</database></options>)";
+
+	/**
+	 * @param client
+	 * @param cacheFile optional file for persisting the list across JVMs
+	 * @return
+	 */
+	public List<TestModule> getTestModules(DatabaseClient client, File cacheFile) {
+		String key = client.getHost() + ":" + client.getPort() + "/" + client.getDatabase();
+		return testModules.computeIfAbsent(key, k -> cacheFile != null ? readOrListTestModules(client, cacheFile) : new TestManager(client).list());
+	}
+
+	protected List<TestModule> readOrListTestModules(DatabaseClient client, File cacheFile) {
+		String fingerprint;
+		try {
+			fingerprint = client.newServerEval().xquery(FINGERPRINT_SCRIPT).evalAs(String.class);
+		} catch (Exception ex) {
+			logger.warn("Unable to compute fingerprint of marklogic-unit-test modules, so not using cache file: " +
+				cacheFile.getAbsolutePath() + "; the user may lack the privileges to evaluate code; cause: " + ex.getMessage());
+			return new TestManager(client).list();
+		}
+		if (fingerprint == null || fingerprint.isEmpty()) {
+			return new TestManager(client).list();
+		}
+
+		if (cacheFile.exists()) {
+			try {
+				List<String> lines = Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8);
+				if (!lines.isEmpty() && fingerprint.equals(lines.get(0))) {
+					List<TestModule> list = parseTestModules(lines.subList(1, lines.size()));
+					if (list != null) {
+						if (logger.isInfoEnabled()) {
+							logger.info("Read list of marklogic-unit-test modules from: " + cacheFile.getAbsolutePath());
+						}
+						return list;
+					}
+					logger.warn("Ignoring malformed list of marklogic-unit-test modules in: " + cacheFile.getAbsolutePath());
+				}
+			} catch (IOException ex) {
+				logger.warn("Unable to read list of marklogic-unit-test modules from: " + cacheFile.getAbsolutePath() + "; cause: " + ex.getMessage());
+			}
+		}
+
+		List<TestModule> list = new TestManager(client).list();
+		List<String> lines = new ArrayList<>();
+		lines.add(fingerprint);
+		for (TestModule testModule : list) {
+			lines.add(testModule.getSuite() + "\t" + testModule.getTest());
+		}
+		try {
+			if (cacheFile.getParentFile() != null) {
+				cacheFile.getParentFile().mkdirs();
+			}
+			Files.write(cacheFile.toPath(), lines, StandardCharsets.UTF_8);
+		} catch (IOException ex) {
+			logger.warn("Unable to write list of marklogic-unit-test modules to: " + cacheFile.getAbsolutePath() + "; cause: " + ex.getMessage());
+		}
+		return list;
+	}
+
+	/**
+	 * @param lines each a suite name and a test name separated by a tab
+	 * @return the test modules, or null if any line is malformed - e.g. because the file was edited or truncated
+	 */
+	protected List<TestModule> parseTestModules(List<String> lines) {
+		List<TestModule> list = new ArrayList<>();
+		for (String line : lines) {
+			int index = line.indexOf('\t');
+			if (index <= 0 || index == line.length() - 1) {
+				return null;
+			}
+			list.add(new TestModule(line.substring(index + 1), line.substring(0, index)));
+		}
+		return list;
+	}
+
+	/**
+	 * Discards every list cached in the current JVM.
+	 */
+	public static void clear() {
+		testModules.clear();
+	}
+}
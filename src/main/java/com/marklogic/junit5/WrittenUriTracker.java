@@ -0,0 +1,129 @@
+package com.marklogic.junit5;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.Transaction;
+import com.marklogic.client.document.DocumentDescriptor;
+import com.marklogic.client.document.DocumentManager;
+import com.marklogic.client.document.DocumentWriteOperation;
+import com.marklogic.client.document.DocumentWriteSet;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Records the URIs of documents written via a DatabaseClient. The DatabaseClient returned by the wrap method hands
+ * out document managers whose write and create methods record the URI of each document they write; all other
+ * methods are passed through to the wrapped DatabaseClient unchanged. An optional listener is notified of the URI of
+ * every document that is written, created, patched, or deleted via one of these document managers.
+ * <p>
+ * Only writes made via a document manager are recorded - writes made via e.g. a server-side eval or a Data Movement
+ * SDK job are not.
+ */
+public class WrittenUriTracker {
+
+	private final Set<String> uris = ConcurrentHashMap.newKeySet();
+	private final Consumer<String> modifiedUriListener;
+
+	public WrittenUriTracker() {
+		this(null);
+	}
+
+	/**
+	 * @param modifiedUriListener if not null, notified of the URI of every document that is written, created,
+	 *                            patched, or deleted
+	 */
+	public WrittenUriTracker(Consumer<String> modifiedUriListener) {
+		this.modifiedUriListener = modifiedUriListener;
+	}
+
+	/**
+	 * @param client
+	 * @return a DatabaseClient that records the URI of every document written via one of its document managers
+	 */
+	public DatabaseClient wrap(DatabaseClient client) {
+		return newProxy(DatabaseClient.class, (proxy, method, args) -> {
+			Object result = invoke(method, client, args);
+			if (result instanceof DocumentManager && method.getName().startsWith("new")) {
+				return wrapDocumentManager(method.getReturnType(), result);
+			}
+			return result;
+		});
+	}
+
+	private Object wrapDocumentManager(Class<?> managerInterface, Object manager) {
+		return newProxy(managerInterface, (proxy, method, args) -> {
+			String name = method.getName();
+			// e.g. delete(Transaction, String...) identifies its documents via the argument after the Transaction
+			int targetIndex = args != null && args.length > 0 && args[0] instanceof Transaction ? 1 : 0;
+			boolean hasTarget = args != null && args.length > targetIndex;
+			// Recorded before the write is made in case it fails after writing some of the documents in a DocumentWriteSet
+			if (name.startsWith("write") && hasTarget) {
+				recordUris(args[targetIndex], true);
+			} else if ((name.equals("delete") || name.equals("patch")) && hasTarget) {
+				recordUris(args[targetIndex], false);
+			}
+			Object result = invoke(method, manager, args);
+			if (name.equals("create")) {
+				recordUris(result, true);
+			}
+			return result;
+		});
+	}
+
+	private void recordUris(Object target, boolean written) {
+		if (target instanceof String) {
+			recordUri((String) target, written);
+		} else if (target instanceof String[]) {
+			for (String uri : (String[]) target) {
+				recordUri(uri, written);
+			}
+		} else if (target instanceof DocumentDescriptor) {
+			recordUri(((DocumentDescriptor) target).getUri(), written);
+		} else if (target instanceof DocumentWriteSet) {
+			for (DocumentWriteOperation op : (DocumentWriteSet) target) {
+				if (op.getUri() != null) {
+					recordUri(op.getUri(), written);
+				}
+			}
+		}
+	}
+
+	private void recordUri(String uri, boolean written) {
+		if (written) {
+			uris.add(uri);
+		}
+		if (modifiedUriListener != null) {
+			modifiedUriListener.accept(uri);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T newProxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+	}
+
+	private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * @return a copy of the URIs recorded since this tracker was constructed or last cleared
+	 */
+	public Set<String> getUris() {
+		return new HashSet<>(uris);
+	}
+
+	public void clear() {
+		uris.clear();
+	}
+}
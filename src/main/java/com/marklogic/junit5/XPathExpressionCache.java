@@ -0,0 +1,196 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filter;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, thread-safe cache of compiled JDOM2 XPath expressions. An expression is keyed on its XPath string, the
+ * prefixes and URIs of the namespaces it was compiled with, and the filter applied to its results. When the cache is
+ * full, the least recently used expression is evicted.
+ * <p>
+ * A JDOM2 XPathExpression is not thread-safe, so each cached expression has a pool of copies, and evaluate borrows a
+ * copy for the duration of an evaluation. Threads evaluating the same expression thus never wait on one another, and
+ * an expression is only compiled again when more threads evaluate it at once than ever before.
+ */
+public class XPathExpressionCache {
+
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	private final int maxSize;
+	private final Map<Key, CachedExpression<?>> expressions;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	public XPathExpressionCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param maxSize the maximum number of compiled expressions to retain
+	 */
+	public XPathExpressionCache(final int maxSize) {
+		this.maxSize = maxSize;
+		this.expressions = new LinkedHashMap<Key, CachedExpression<?>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CachedExpression<?>> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Evaluates the given XPath against the given context, using a compiled expression that no other thread is
+	 * evaluating at the same time.
+	 *
+	 * @param xpath
+	 * @param filter
+	 * @param context    the document or element to evaluate the expression against
+	 * @param namespaces
+	 * @param <T>
+	 * @return
+	 */
+	public <T> List<T> evaluate(String xpath, Filter<T> filter, Object context, Namespace... namespaces) {
+		CachedExpression<T> cached = getCachedExpression(xpath, filter, namespaces);
+		XPathExpression<T> expr = cached.borrow();
+		try {
+			return expr.evaluate(context);
+		} finally {
+			cached.release(expr);
+		}
+	}
+
+	/**
+	 * Returns a compiled expression for the given XPath, filter, and namespaces, compiling it first if it's not
+	 * already in the cache. The same instance is returned to every caller, so it must not be evaluated by more than
+	 * one thread at a time; use evaluate to avoid that concern.
+	 *
+	 * @param xpath
+	 * @param filter
+	 * @param namespaces
+	 * @param <T>
+	 * @return
+	 */
+	public <T> XPathExpression<T> getExpression(String xpath, Filter<T> filter, Namespace... namespaces) {
+		return getCachedExpression(xpath, filter, namespaces).prototype;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CachedExpression<T> getCachedExpression(String xpath, Filter<T> filter, Namespace... namespaces) {
+		Key key = new Key(xpath, filter, namespaces);
+		synchronized (expressions) {
+			CachedExpression<?> cached = expressions.get(key);
+			if (cached != null) {
+				hitCount.incrementAndGet();
+				return (CachedExpression<T>) cached;
+			}
+		}
+
+		missCount.incrementAndGet();
+		CachedExpression<T> cached = new CachedExpression<>(XPathFactory.instance().compile(xpath, filter, new HashMap<>(), namespaces));
+		synchronized (expressions) {
+			CachedExpression<?> existing = expressions.putIfAbsent(key, cached);
+			return existing != null ? (CachedExpression<T>) existing : cached;
+		}
+	}
+
+	public void clear() {
+		synchronized (expressions) {
+			expressions.clear();
+		}
+		hitCount.set(0);
+		missCount.set(0);
+	}
+
+	public int size() {
+		synchronized (expressions) {
+			return expressions.size();
+		}
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * A compiled expression along with the copies of it that are not currently being evaluated. The prototype itself is
+	 * never evaluated via borrow, as getExpression hands it out to callers.
+	 */
+	private static class CachedExpression<T> {
+
+		private final XPathExpression<T> prototype;
+		private final Queue<XPathExpression<T>> available = new ConcurrentLinkedQueue<>();
+
+		CachedExpression(XPathExpression<T> prototype) {
+			this.prototype = prototype;
+		}
+
+		XPathExpression<T> borrow() {
+			XPathExpression<T> expr = available.poll();
+			return expr != null ? expr : prototype.clone();
+		}
+
+		void release(XPathExpression<T> expr) {
+			available.offer(expr);
+		}
+	}
+
+	/**
+	 * JDOM2 considers two Namespace objects to be equal if their URIs are equal, but the prefix matters when
+	 * compiling an XPath expression, so both are captured here.
+	 */
+	private static class Key {
+
+		private final String xpath;
+		private final Filter<?> filter;
+		private final List<String> namespaces;
+
+		Key(String xpath, Filter<?> filter, Namespace... namespaces) {
+			this.xpath = xpath;
+			this.filter = filter;
+			this.namespaces = new ArrayList<>();
+			if (namespaces != null) {
+				for (Namespace ns : namespaces) {
+					this.namespaces.add(ns.getPrefix());
+					this.namespaces.add(ns.getURI());
+				}
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return xpath.equals(other.xpath) && Objects.equals(filter, other.filter) && namespaces.equals(other.namespaces);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(xpath, filter, namespaces);
+		}
+	}
+}
@@ -4,19 +4,23 @@ import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 import org.jdom2.filter.Filters;
+import org.jdom2.input.DOMBuilder;
 import org.jdom2.input.SAXBuilder;
+import org.jdom2.input.sax.XMLReaders;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
+import java.io.Writer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Encapsulates an XML node with a variety of methods for assisting with XPath-based assertions in a JUnit test.
@@ -24,19 +28,44 @@ import java.util.List;
  */
 public class XmlNode {
 
+	/**
+	 * Shared by all instances so that a given XPath expression is only compiled once per JVM.
+	 */
+	private static volatile XPathExpressionCache xpathExpressionCache = new XPathExpressionCache();
+
+	public static final int DEFAULT_MAX_DIAGNOSTIC_LENGTH = 10000;
+
+	private static final String TRUNCATED = "... (truncated)";
+
+	/**
+	 * The maximum number of characters of XML to print when an assertion fails.
+	 */
+	private static volatile int maxDiagnosticLength = DEFAULT_MAX_DIAGNOSTIC_LENGTH;
+
+	/**
+	 * Constructing a SAXBuilder and its underlying parser is relatively expensive, so each thread reuses its own.
+	 */
+	private static final ThreadLocal<SAXBuilder> saxBuilder = ThreadLocal.withInitial(XmlNode::newSAXBuilder);
+
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
 	private Document internalDoc;
 	private Namespace[] namespaces;
 	private String uri;
 
+	/**
+	 * If not null, this is a view of an element within internalDoc, and XPath expressions are evaluated relative to
+	 * this element.
+	 */
+	private Element contextElement;
+
 	public XmlNode(Document doc) {
 		this.internalDoc = doc;
 	}
 
 	public XmlNode(String xml, Namespace... namespaces) {
 		try {
-			internalDoc = new SAXBuilder().build(new StringReader(xml));
+			internalDoc = saxBuilder.get().build(new StringReader(xml));
 			this.namespaces = namespaces;
 		} catch (Exception e) {
 			throw new RuntimeException(e);
@@ -48,10 +77,53 @@ public class XmlNode {
 		this.uri = uri;
 	}
 
+	/**
+	 * Parses the XML directly from the given stream, avoiding the cost of first reading it into a String. The stream
+	 * is not closed.
+	 *
+	 * @param uri
+	 * @param xml
+	 * @param namespaces
+	 */
+	public XmlNode(String uri, InputStream xml, Namespace... namespaces) {
+		try {
+			internalDoc = saxBuilder.get().build(xml);
+			this.namespaces = namespaces;
+			this.uri = uri;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Adapts a W3C DOM document - e.g. one read via a DOMHandle - without serializing and re-parsing it.
+	 *
+	 * @param uri
+	 * @param doc
+	 * @param namespaces
+	 */
+	public XmlNode(String uri, org.w3c.dom.Document doc, Namespace... namespaces) {
+		this.internalDoc = new DOMBuilder().build(doc);
+		this.namespaces = namespaces;
+		this.uri = uri;
+	}
+
 	public XmlNode(XmlNode other) {
 		this.internalDoc = other.internalDoc;
 		this.namespaces = other.namespaces;
 		this.uri = other.uri;
+		this.contextElement = other.contextElement;
+	}
+
+	/**
+	 * Constructs a view of the given element, which must belong to the document of the given XmlNode.
+	 *
+	 * @param other
+	 * @param contextElement
+	 */
+	protected XmlNode(XmlNode other, Element contextElement) {
+		this(other);
+		this.contextElement = contextElement;
 	}
 
 	public XmlNode(Element el, Namespace... namespaces) {
@@ -59,6 +131,18 @@ public class XmlNode {
 		this.namespaces = namespaces;
 	}
 
+	/**
+	 * Validation is disabled and external DTDs are not loaded, as neither affects the assertions made by this class.
+	 *
+	 * @return
+	 */
+	protected static SAXBuilder newSAXBuilder() {
+		SAXBuilder builder = new SAXBuilder(XMLReaders.NONVALIDATING);
+		builder.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		builder.setReuseParser(true);
+		return builder;
+	}
+
 	protected String format(String format, Object... args) {
 		return String.format(format, args);
 	}
@@ -69,7 +153,7 @@ public class XmlNode {
 			assertElementListHasOneElement("Expected to find a single element with xpath: " + xpath, list, xpath);
 			return new XmlNode(list.get(0), this.namespaces);
 		} catch (AssertionError ae) {
-			prettyPrint();
+			printDiagnostics(list);
 			throw ae;
 		}
 	}
@@ -83,6 +167,42 @@ public class XmlNode {
 		return fragments;
 	}
 
+	/**
+	 * Like getXmlNode, but the element is not detached from this node's document, and the returned XmlNode is a view
+	 * of the element rather than a new document. XPath expressions on the view are evaluated relative to the element -
+	 * e.g. "m:kid" or "./m:kid" - while an absolute expression is still evaluated against the whole document.
+	 *
+	 * @param xpath
+	 * @return
+	 */
+	public XmlNode getXmlNodeView(String xpath) {
+		List<Element> list = evaluateForElements(xpath);
+		try {
+			assertElementListHasOneElement("Expected to find a single element with xpath: " + xpath, list, xpath);
+			return new XmlNode(this, list.get(0));
+		} catch (AssertionError ae) {
+			printDiagnostics(list);
+			throw ae;
+		}
+	}
+
+	/**
+	 * Like getXmlNodes, but returns a view of each element instead of detaching it - see getXmlNodeView. This leaves
+	 * this node's document intact and avoids constructing a document per element, which matters when iterating over
+	 * many elements.
+	 *
+	 * @param xpath
+	 * @return
+	 */
+	public List<XmlNode> getXmlNodeViews(String xpath) {
+		List<Element> elements = evaluateForElements(xpath);
+		List<XmlNode> views = new ArrayList<>(elements.size());
+		for (Element el : elements) {
+			views.add(new XmlNode(this, el));
+		}
+		return views;
+	}
+
 	public void assertElementValue(String xpath, String value) {
 		assertElementValue(null, xpath, value);
 	}
@@ -93,7 +213,7 @@ public class XmlNode {
 			assertElementListHasOneElement("", list, xpath);
 			return list.get(0).getText();
 		} catch (AssertionError ae) {
-			prettyPrint();
+			printDiagnostics(list);
 			throw ae;
 		}
 	}
@@ -107,15 +227,19 @@ public class XmlNode {
 			assertElementListHasOneElement("", list, elementXpath);
 			return list.get(0).getAttributeValue(attributeName);
 		} catch (AssertionError ae) {
-			prettyPrint();
+			printDiagnostics(list);
 			throw ae;
 		}
 	}
 
+	/**
+	 * Failure messages are only constructed if the assertion fails, and the values listed in them are bounded by
+	 * maxDiagnosticLength.
+	 */
 	public void assertElementValue(String message, String xpath, String value) {
 		List<Element> list = evaluateForElements(xpath);
 		try {
-			Assertions.assertTrue(list.size() > 0, message += ";\nCould not find at least one element, xpath: " + xpath);
+			Assertions.assertTrue(list.size() > 0, () -> message + ";\nCould not find at least one element, xpath: " + xpath);
 			boolean found = false;
 			for (Element el : list) {
 				if (value.equals(el.getText())) {
@@ -123,9 +247,10 @@ public class XmlNode {
 					break;
 				}
 			}
-			Assertions.assertTrue(found, message + "\n:Elements: " + list);
+			Assertions.assertTrue(found, () -> message + ";\nNo element has value '" + value + "'; xpath: " + xpath +
+				"\n:Elements: " + describeElements(list));
 		} catch (AssertionError ae) {
-			prettyPrint();
+			printDiagnostics(list);
 			throw ae;
 		}
 	}
@@ -134,15 +259,59 @@ public class XmlNode {
 		assertElementCount(null, xpath, count);
 	}
 
+	/**
+	 * Evaluates the given XPath once and verifies the number of elements it matches.
+	 *
+	 * @param message
+	 * @param xpath
+	 * @param count
+	 */
 	public void assertElementCount(String message, String xpath, int count) {
-		String xpathToTest = xpath + "[%d]";
-		assertElementExists(message, format(xpathToTest, count));
-		assertElementMissing(message, format(xpathToTest, count + 1));
+		List<Element> list = evaluateForElements(xpath);
+		try {
+			Assertions.assertEquals(count, list.size(), () -> message + ";\nUnexpected number of elements matching xpath: " + xpath);
+		} catch (AssertionError ae) {
+			printDiagnostics(list);
+			throw ae;
+		}
+	}
+
+	public void assertElementCounts(Map<String, Integer> xpathsAndCounts) {
+		assertElementCounts(null, xpathsAndCounts);
+	}
+
+	/**
+	 * Grouped assertion that verifies the number of elements matched by each XPath in the given map. Each XPath is
+	 * evaluated once, as a separate traversal of the document. Every mismatch is reported in a single failure, and the
+	 * XML is only pretty-printed once. To count many XPaths in a single traversal of a large document, use
+	 * StreamingXmlNode.assertElementCounts instead, which supports a restricted subset of XPath.
+	 *
+	 * @param message
+	 * @param xpathsAndCounts map of XPath expressions to the number of elements each is expected to match
+	 */
+	public void assertElementCounts(String message, Map<String, Integer> xpathsAndCounts) {
+		List<Executable> assertions = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : xpathsAndCounts.entrySet()) {
+			final String xpath = entry.getKey();
+			final int expectedCount = entry.getValue();
+			final int actualCount = getElementCount(xpath);
+			assertions.add(() -> Assertions.assertEquals(expectedCount, actualCount, () -> "Unexpected number of elements matching xpath: " + xpath));
+		}
+		try {
+			Assertions.assertAll(message, assertions);
+		} catch (AssertionError ae) {
+			prettyPrint();
+			throw ae;
+		}
+	}
+
+	public int getElementCount(String xpath) {
+		return evaluateForElements(xpath).size();
 	}
 
 	private void assertElementListHasOneElement(String message, List<Element> list, String xpath) {
 		int size = list.size();
-		Assertions.assertTrue(size == 1, message + ";\nExpected 1 element, but found " + size + "; xpath: " + xpath);
+		Assertions.assertTrue(size == 1, () -> message + ";\nExpected 1 element, but found " + size + "; xpath: " + xpath);
 	}
 
 	public void assertElementExists(String xpath) {
@@ -154,28 +323,103 @@ public class XmlNode {
 		try {
 			assertElementListHasOneElement(message, list, xpath);
 		} catch (AssertionError ae) {
-			prettyPrint();
+			printDiagnostics(list);
 			throw ae;
 		}
 	}
 
 	public void assertElementMissing(String message, String xpath) {
 		List<Element> list = evaluateForElements(xpath);
-		Assertions.assertEquals(0, list.size(), message + ";\nexpected no elements matching xpath " + xpath);
+		Assertions.assertEquals(0, list.size(), () -> message + ";\nexpected no elements matching xpath " + xpath);
 	}
 
+	/**
+	 * The expression is evaluated via the shared XPathExpressionCache, which compiles it once and gives each thread
+	 * evaluating it concurrently its own copy.
+	 *
+	 * @param xpath
+	 * @return
+	 */
 	protected List<Element> evaluateForElements(String xpath) {
-		XPathFactory f = XPathFactory.instance();
-		XPathExpression<Element> expr = f.compile(xpath, Filters.element(), new HashMap<>(), namespaces);
-		return expr.evaluate(internalDoc);
+		return xpathExpressionCache.evaluate(xpath, Filters.element(), contextElement != null ? contextElement : internalDoc, namespaces);
 	}
 
+	/**
+	 * Logs this node's XML at the info level, truncated to maxDiagnosticLength characters. Nothing is serialized if
+	 * info logging is disabled.
+	 */
 	public void prettyPrint() {
-		logger.info(getPrettyXml());
+		if (logger.isInfoEnabled()) {
+			logger.info(toBoundedString(contextElement != null ? contextElement : internalDoc));
+		}
+	}
+
+	/**
+	 * Invoked when an assertion fails. To keep the output focused and bounded for a large document, the parent of the
+	 * first matching element is logged if any elements matched; otherwise, this node's XML is logged. Either is
+	 * truncated to maxDiagnosticLength characters, and nothing is serialized if info logging is disabled.
+	 *
+	 * @param matchingElements the elements matched by the XPath expression of the failed assertion
+	 */
+	protected void printDiagnostics(List<Element> matchingElements) {
+		if (!logger.isInfoEnabled()) {
+			return;
+		}
+		if (matchingElements == null || matchingElements.isEmpty()) {
+			prettyPrint();
+			return;
+		}
+		Element element = matchingElements.get(0);
+		Element parent = element.getParentElement();
+		logger.info("First of " + matchingElements.size() + " matching elements, within its parent:\n" +
+			toBoundedString(parent != null ? parent : element));
+	}
+
+	/**
+	 * @param elements
+	 * @return a description of the given elements, truncated to maxDiagnosticLength characters
+	 */
+	protected String describeElements(List<Element> elements) {
+		StringBuilder sb = new StringBuilder("[");
+		for (Element el : elements) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(el);
+			if (sb.length() > maxDiagnosticLength) {
+				return sb.substring(0, maxDiagnosticLength) + TRUNCATED;
+			}
+		}
+		return sb.append("]").toString();
+	}
+
+	/**
+	 * Pretty-prints the given document or element, stopping once maxDiagnosticLength characters have been written so
+	 * that the cost of printing a large document is bounded.
+	 *
+	 * @param content a Document or an Element
+	 * @return
+	 */
+	protected String toBoundedString(Object content) {
+		BoundedWriter writer = new BoundedWriter(maxDiagnosticLength);
+		XMLOutputter outputter = new XMLOutputter(Format.getPrettyFormat());
+		try {
+			if (content instanceof Document) {
+				outputter.output((Document) content, writer);
+			} else {
+				outputter.output((Element) content, writer);
+			}
+		} catch (BoundedWriter.LimitReachedException ex) {
+			return writer.toString() + TRUNCATED;
+		} catch (IOException ex) {
+			return "Unable to print XML: " + ex.getMessage();
+		}
+		return writer.toString();
 	}
 
 	public String getPrettyXml() {
-		return new XMLOutputter(Format.getPrettyFormat()).outputString(internalDoc);
+		XMLOutputter outputter = new XMLOutputter(Format.getPrettyFormat());
+		return contextElement != null ? outputter.outputString(contextElement) : outputter.outputString(internalDoc);
 	}
 
 	public String getUri() {
@@ -186,6 +430,13 @@ public class XmlNode {
 		return internalDoc;
 	}
 
+	/**
+	 * @return the element that this node is a view of, or null if this node represents a whole document
+	 */
+	public Element getContextElement() {
+		return contextElement;
+	}
+
 	public Namespace[] getNamespaces() {
 		return namespaces;
 	}
@@ -193,4 +444,72 @@ public class XmlNode {
 	public void setNamespaces(Namespace[] namespaces) {
 		this.namespaces = namespaces;
 	}
+
+	public static int getMaxDiagnosticLength() {
+		return maxDiagnosticLength;
+	}
+
+	/**
+	 * @param length the maximum number of characters of XML to print when an assertion fails
+	 */
+	public static void setMaxDiagnosticLength(int length) {
+		maxDiagnosticLength = length;
+	}
+
+	/**
+	 * A Writer that throws LimitReachedException, aborting the serialization being written, once a limit is reached.
+	 */
+	private static class BoundedWriter extends Writer {
+
+		private final StringBuilder sb = new StringBuilder();
+		private final int limit;
+
+		BoundedWriter(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			int remaining = limit - sb.length();
+			sb.append(cbuf, off, Math.min(len, remaining));
+			if (len > remaining) {
+				throw new LimitReachedException();
+			}
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public String toString() {
+			return sb.toString();
+		}
+
+		static class LimitReachedException extends IOException {
+
+			private static final long serialVersionUID = 1L;
+		}
+	}
+
+	/**
+	 * @return the cache of compiled XPath expressions shared by all XmlNode instances, which exposes hit and miss
+	 * counts
+	 */
+	public static XPathExpressionCache getXPathExpressionCache() {
+		return xpathExpressionCache;
+	}
+
+	/**
+	 * Replace the shared cache of compiled XPath expressions, e.g. with one that has a larger maximum size.
+	 *
+	 * @param cache
+	 */
+	public static void setXPathExpressionCache(XPathExpressionCache cache) {
+		xpathExpressionCache = cache;
+	}
 }
@@ -1,17 +1,19 @@
 package com.marklogic.junit5.dhf;
 
 import com.marklogic.client.DatabaseClient;
-import com.marklogic.client.DatabaseClientFactory;
 import com.marklogic.client.datamovement.JobTicket;
 import com.marklogic.client.ext.helper.DatabaseClientProvider;
 import com.marklogic.junit5.AbstractMarkLogicTest;
-import org.junit.jupiter.api.AfterEach;
+import com.marklogic.junit5.DatabaseClientRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.File;
+import java.util.List;
+
 /**
  * Extends AbstractSpringTest and uses DataHubTestConfig, which provides a sensible default configuration for connecting
  * to a DHF application. Also provides a runHarmonizeFlow convenience method.
@@ -36,19 +38,24 @@ public abstract class AbstractDataHubTest extends AbstractMarkLogicTest {
 
 	protected DatabaseClient stagingClient;
 
+	/**
+	 * The staging client is obtained from DatabaseClientRegistry, and thus it is shared across test methods and
+	 * test classes and released when the JVM exits.
+	 */
 	@BeforeEach
 	public void setupStagingClient() {
-		stagingClient = DatabaseClientFactory.newClient(
+		stagingClient = DatabaseClientRegistry.getInstance().getDigestClient(
 			dataHubTestConfig.getHost(), dataHubTestConfig.getStagingPort(), dataHubTestConfig.getStagingDatabaseName(),
-			new DatabaseClientFactory.DigestAuthContext(dataHubTestConfig.getUsername(), dataHubTestConfig.getPassword())
+			dataHubTestConfig.getUsername(), dataHubTestConfig.getPassword()
 		);
 	}
 
-	@AfterEach
+	/**
+	 * @deprecated the staging client is now shared via DatabaseClientRegistry and released when the JVM exits, so
+	 * this no longer does anything
+	 */
+	@Deprecated
 	public void releaseStagingClient() {
-		if (stagingClient != null) {
-			stagingClient.release();
-		}
 	}
 
 	/**
@@ -58,7 +65,7 @@ public abstract class AbstractDataHubTest extends AbstractMarkLogicTest {
 	 */
 	@Override
 	protected DatabaseClient getDatabaseClient() {
-		return databaseClientProvider.getDatabaseClient();
+		return trackWrites(databaseClientProvider.getDatabaseClient());
 	}
 
 	/**
@@ -74,21 +81,50 @@ public abstract class AbstractDataHubTest extends AbstractMarkLogicTest {
 		return testFlowRunner.runHarmonizeFlow(entityName, flowName, optionKeysAndValues);
 	}
 
+	/**
+	 * Runs the given flows concurrently, with the stagingClient being used as the "source" client. Only use this for
+	 * flows that don't depend on one another.
+	 *
+	 * @param maxConcurrentFlows
+	 * @param entityAndFlowNames an entity name followed by a flow name, repeated for each flow to run
+	 * @return
+	 */
+	protected List<JobTicket> runHarmonizeFlows(int maxConcurrentFlows, String... entityAndFlowNames) {
+		TestFlowRunner testFlowRunner = newTestFlowRunner(this.stagingClient, dataHubTestConfig.getTestDatabaseName());
+		return testFlowRunner.runHarmonizeFlows(maxConcurrentFlows, entityAndFlowNames);
+	}
+
 	protected TestFlowRunner newTestFlowRunner(DatabaseClient client, String testDatabaseName) {
 		TestFlowRunner testFlowRunner = new TestFlowRunner(client, testDatabaseName);
 		testFlowRunner.setJobsClient(newJobsDatabaseClient());
+		testFlowRunner.setBatchSize(dataHubTestConfig.getHarmonizeBatchSize());
+		testFlowRunner.setThreadCount(dataHubTestConfig.getHarmonizeThreadCount());
+		testFlowRunner.setAutoTune(dataHubTestConfig.isHarmonizeAutoTune());
+		testFlowRunner.setFailFast(dataHubTestConfig.isHarmonizeFailFast());
+		testFlowRunner.setFlowMetricsSink(getFlowMetricsSink());
 		return testFlowRunner;
 	}
 
 	/**
-	 * Assumes digest auth - can override this via a subclass.
+	 * Override this to publish flow metrics somewhere else, e.g. to a FlowMetricsRegistry.
+	 *
+	 * @return a sink for metrics on every flow that is run, or null if metrics should not be published
+	 */
+	protected FlowMetricsSink getFlowMetricsSink() {
+		String file = dataHubTestConfig.getFlowMetricsFile();
+		return file != null && file.trim().length() > 0 ? new JsonFileFlowMetricsSink(new File(file)) : null;
+	}
+
+	/**
+	 * Assumes digest auth - can override this via a subclass. The client is obtained from DatabaseClientRegistry, so
+	 * the same client is reused for every flow that is run.
 	 *
 	 * @return
 	 */
 	protected DatabaseClient newJobsDatabaseClient() {
-		return DatabaseClientFactory.newClient(
-			dataHubTestConfig.getHost(), dataHubTestConfig.getJobPort(),
-			new DatabaseClientFactory.DigestAuthContext(dataHubTestConfig.getUsername(), dataHubTestConfig.getPassword())
+		return DatabaseClientRegistry.getInstance().getDigestClient(
+			dataHubTestConfig.getHost(), dataHubTestConfig.getJobPort(), null,
+			dataHubTestConfig.getUsername(), dataHubTestConfig.getPassword()
 		);
 	}
 }
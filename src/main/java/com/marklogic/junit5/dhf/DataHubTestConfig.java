@@ -44,6 +44,34 @@ public class DataHubTestConfig {
 	@Value("${mlJobPort}")
 	private Integer jobPort;
 
+	/**
+	 * Batch size and thread count for running harmonize flows; 0 means the DHF default is used.
+	 */
+	@Value("${mlHarmonizeBatchSize:0}")
+	private Integer harmonizeBatchSize;
+
+	@Value("${mlHarmonizeThreadCount:0}")
+	private Integer harmonizeThreadCount;
+
+	/**
+	 * If true, a batch size and thread count that are not set are chosen based on the number of source documents
+	 * and the number of available processors.
+	 */
+	@Value("${mlHarmonizeAutoTune:false}")
+	private boolean harmonizeAutoTune;
+
+	/**
+	 * If true, a harmonize flow is stopped, and fails, as soon as one of its items fails; see TestFlowRunner.setFailFast.
+	 */
+	@Value("${mlHarmonizeFailFast:false}")
+	private boolean harmonizeFailFast;
+
+	/**
+	 * If set, metrics for every harmonize flow run via AbstractDataHubTest are appended to this file as JSON.
+	 */
+	@Value("${mlFlowMetricsFile:}")
+	private String flowMetricsFile;
+
 	/**
 	 * Has to be static so that Spring instantiates it first.
 	 */
@@ -108,4 +136,24 @@ public class DataHubTestConfig {
 	public Integer getJobPort() {
 		return jobPort;
 	}
+
+	public Integer getHarmonizeBatchSize() {
+		return harmonizeBatchSize;
+	}
+
+	public Integer getHarmonizeThreadCount() {
+		return harmonizeThreadCount;
+	}
+
+	public boolean isHarmonizeAutoTune() {
+		return harmonizeAutoTune;
+	}
+
+	public boolean isHarmonizeFailFast() {
+		return harmonizeFailFast;
+	}
+
+	public String getFlowMetricsFile() {
+		return flowMetricsFile;
+	}
 }
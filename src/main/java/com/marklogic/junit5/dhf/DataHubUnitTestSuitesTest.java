@@ -0,0 +1,22 @@
+package com.marklogic.junit5.dhf;
+
+import com.marklogic.junit5.MarkLogicUnitTestArgumentsProvider;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.stream.Stream;
+
+/**
+ * Alternative to DataHubUnitTestsTest that runs each suite of marklogic-unit-test modules via a single request
+ * instead of making a request for every test module, while still reporting a separate JUnit test for every test
+ * module. Like DataHubUnitTestsTest, this class is abstract and is intended to be extended in a project that depends
+ * on marklogic-junit.
+ */
+public abstract class DataHubUnitTestSuitesTest extends AbstractDataHubTest {
+
+	@TestFactory
+	public Stream<DynamicContainer> test() {
+		return buildMarkLogicUnitTestSuites(new MarkLogicUnitTestArgumentsProvider().listTestModules(getDatabaseClient(), getClass()));
+	}
+
+}
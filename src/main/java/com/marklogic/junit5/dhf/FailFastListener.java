@@ -0,0 +1,90 @@
+package com.marklogic.junit5.dhf;
+
+import com.marklogic.client.datamovement.JobTicket;
+import com.marklogic.client.ext.helper.LoggingObject;
+import com.marklogic.hub.flow.FlowItemFailureListener;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Registered on a FlowRunner by TestFlowRunner when fail-fast is enabled. DHF's stopOnFailure only stops a job once
+ * a batch with a failed item has completed, and the test thread then still waits for every in-flight batch and for
+ * the job document to be written. This listener instead stops the job as soon as the first item fails, and releases
+ * a thread waiting in awaitFailureOrCompletion so that the test can fail immediately.
+ * <p>
+ * An item may fail before FlowRunner.run returns the JobTicket that is needed to stop the job, so the job is stopped
+ * either when the first failure is reported or when the JobTicket is set, whichever happens last. The job is only
+ * ever stopped once.
+ */
+public class FailFastListener extends LoggingObject implements FlowItemFailureListener {
+
+	private final Consumer<JobTicket> jobStopper;
+	private final CountDownLatch latch = new CountDownLatch(1);
+	private final AtomicBoolean stopped = new AtomicBoolean(false);
+	private final AtomicReference<String> failedItemId = new AtomicReference<>();
+	private volatile JobTicket jobTicket;
+
+	/**
+	 * @param jobStopper invoked at most once to stop the job after an item has failed
+	 */
+	public FailFastListener(Consumer<JobTicket> jobStopper) {
+		this.jobStopper = jobStopper;
+	}
+
+	@Override
+	public void processFailure(String jobId, String itemId) {
+		if (failedItemId.compareAndSet(null, itemId)) {
+			latch.countDown();
+			stopJobIfFailed();
+		}
+	}
+
+	/**
+	 * Must be invoked once the flow has completed, whether or not an item failed, so that a thread waiting in
+	 * awaitFailureOrCompletion is released.
+	 */
+	public void onFlowCompleted() {
+		latch.countDown();
+	}
+
+	public void setJobTicket(JobTicket jobTicket) {
+		this.jobTicket = jobTicket;
+		stopJobIfFailed();
+	}
+
+	private void stopJobIfFailed() {
+		JobTicket ticket = this.jobTicket;
+		if (ticket != null && failedItemId.get() != null && stopped.compareAndSet(false, true)) {
+			logger.warn("Stopping job " + ticket.getJobId() + " because item " + failedItemId.get() + " failed and fail-fast is enabled");
+			jobStopper.accept(ticket);
+		}
+	}
+
+	/**
+	 * Blocks until either an item fails or the flow has completed.
+	 *
+	 * @return true if an item failed
+	 * @throws InterruptedException
+	 */
+	public boolean awaitFailureOrCompletion() throws InterruptedException {
+		latch.await();
+		return failedItemId.get() != null;
+	}
+
+	/**
+	 * @return the ID of the first item that failed, or null if none has
+	 */
+	public String getFailedItemId() {
+		return failedItemId.get();
+	}
+
+	/**
+	 * @return true if the job was stopped because an item failed
+	 */
+	public boolean isStopped() {
+		return stopped.get();
+	}
+}
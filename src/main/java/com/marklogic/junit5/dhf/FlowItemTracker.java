@@ -0,0 +1,75 @@
+package com.marklogic.junit5.dhf;
+
+import com.marklogic.hub.flow.FlowItemCompleteListener;
+import com.marklogic.hub.flow.FlowItemFailureListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registered on a FlowRunner by TestFlowRunner to track, in memory, the items that a flow processes successfully or
+ * fails to process. This allows TestFlowRunner to verify a flow without reading the job report from the jobs
+ * database: a failed item fails the flow, and the flow succeeded if the number of successful items matches the number
+ * of items the flow was expected to process. Any other outcome is inconclusive - when DHF fails to process an entire
+ * batch, or fails to query for the items to process, nothing is reported to the listeners, and the failure is only
+ * recorded in the job report. The IDs of the first few failed items are retained for reporting.
+ */
+public class FlowItemTracker implements FlowItemCompleteListener, FlowItemFailureListener {
+
+	public static final int MAX_FAILED_ITEM_IDS = 10;
+
+	private final AtomicLong successfulItems = new AtomicLong();
+	private final AtomicLong failedItems = new AtomicLong();
+	private final AtomicLong firstItemTime = new AtomicLong();
+	private final List<String> failedItemIds = new ArrayList<>();
+
+	@Override
+	public void processCompletion(String jobId, String itemId) {
+		firstItemTime.compareAndSet(0, System.currentTimeMillis());
+		successfulItems.incrementAndGet();
+	}
+
+	@Override
+	public void processFailure(String jobId, String itemId) {
+		firstItemTime.compareAndSet(0, System.currentTimeMillis());
+		failedItems.incrementAndGet();
+		synchronized (failedItemIds) {
+			if (failedItemIds.size() < MAX_FAILED_ITEM_IDS) {
+				failedItemIds.add(itemId);
+			}
+		}
+	}
+
+	/**
+	 * @return true if any item has been reported as either completed or failed; if false, either the flow had nothing
+	 * to process or the listeners were not invoked
+	 */
+	public boolean hasItems() {
+		return successfulItems.get() > 0 || failedItems.get() > 0;
+	}
+
+	public long getSuccessfulItems() {
+		return successfulItems.get();
+	}
+
+	public long getFailedItems() {
+		return failedItems.get();
+	}
+
+	/**
+	 * @return the time, in milliseconds since the epoch, at which the first item was reported, or 0 if none has been
+	 */
+	public long getFirstItemTime() {
+		return firstItemTime.get();
+	}
+
+	/**
+	 * @return the IDs of up to MAX_FAILED_ITEM_IDS failed items
+	 */
+	public List<String> getFailedItemIds() {
+		synchronized (failedItemIds) {
+			return new ArrayList<>(failedItemIds);
+		}
+	}
+}
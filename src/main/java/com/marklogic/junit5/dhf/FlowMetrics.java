@@ -0,0 +1,140 @@
+package com.marklogic.junit5.dhf;
+
+/**
+ * Timing and throughput metrics for a single run of a harmonize flow, as captured by TestFlowRunner. Values that
+ * could not be determined - e.g. batch counts when no job report could be read - are -1.
+ */
+public class FlowMetrics {
+
+	private String entityName;
+	private String flowName;
+	private String jobId;
+	private long startTime;
+	private long duration;
+	private long timeToFirstItem = -1;
+	private long successfulItems;
+	private long failedItems;
+	private long successfulBatches = -1;
+	private long failedBatches = -1;
+	private long verificationDuration;
+
+	public FlowMetrics(String entityName, String flowName) {
+		this.entityName = entityName;
+		this.flowName = flowName;
+	}
+
+	/**
+	 * @return the number of documents processed, whether successfully or not
+	 */
+	public long getDocumentsProcessed() {
+		return successfulItems + failedItems;
+	}
+
+	/**
+	 * @return the number of documents processed per second, based on the duration of the flow excluding verification
+	 */
+	public double getDocumentsPerSecond() {
+		return duration > 0 ? getDocumentsProcessed() * 1000.0 / duration : 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Flow %s (entity %s; job %s): duration: %d; documents processed: %d; failed documents: %d; " +
+				"documents/sec: %.1f; successful batches: %d; failed batches: %d; time to first item: %d; verification duration: %d",
+			flowName, entityName, jobId, duration, getDocumentsProcessed(), failedItems, getDocumentsPerSecond(),
+			successfulBatches, failedBatches, timeToFirstItem, verificationDuration);
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	public String getFlowName() {
+		return flowName;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+
+	/**
+	 * @return the time, in milliseconds since the epoch, at which the flow was started
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	public void setStartTime(long startTime) {
+		this.startTime = startTime;
+	}
+
+	/**
+	 * @return the number of milliseconds between starting the flow and its completion
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	public void setDuration(long duration) {
+		this.duration = duration;
+	}
+
+	/**
+	 * @return the number of milliseconds between starting the flow and the first document being processed; this
+	 * approximates the time to the first batch completing, as DHF reports completion per item
+	 */
+	public long getTimeToFirstItem() {
+		return timeToFirstItem;
+	}
+
+	public void setTimeToFirstItem(long timeToFirstItem) {
+		this.timeToFirstItem = timeToFirstItem;
+	}
+
+	public long getSuccessfulItems() {
+		return successfulItems;
+	}
+
+	public void setSuccessfulItems(long successfulItems) {
+		this.successfulItems = successfulItems;
+	}
+
+	public long getFailedItems() {
+		return failedItems;
+	}
+
+	public void setFailedItems(long failedItems) {
+		this.failedItems = failedItems;
+	}
+
+	public long getSuccessfulBatches() {
+		return successfulBatches;
+	}
+
+	public void setSuccessfulBatches(long successfulBatches) {
+		this.successfulBatches = successfulBatches;
+	}
+
+	public long getFailedBatches() {
+		return failedBatches;
+	}
+
+	public void setFailedBatches(long failedBatches) {
+		this.failedBatches = failedBatches;
+	}
+
+	/**
+	 * @return the number of milliseconds spent reading and verifying the job report
+	 */
+	public long getVerificationDuration() {
+		return verificationDuration;
+	}
+
+	public void setVerificationDuration(long verificationDuration) {
+		this.verificationDuration = verificationDuration;
+	}
+}
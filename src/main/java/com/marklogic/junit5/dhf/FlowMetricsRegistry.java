@@ -0,0 +1,84 @@
+package com.marklogic.junit5.dhf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Retains the metrics for every flow published to it and keeps a running summary per entity and flow name, so that a
+ * test or a test listener can query them - e.g. to assert that a flow stayed under a time budget, or to export them
+ * to a metrics system at the end of a test run.
+ */
+public class FlowMetricsRegistry implements FlowMetricsSink {
+
+	private final List<FlowMetrics> metrics = new CopyOnWriteArrayList<>();
+	private final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+
+	@Override
+	public void publish(FlowMetrics flowMetrics) {
+		metrics.add(flowMetrics);
+		summaries.computeIfAbsent(flowMetrics.getEntityName() + ":" + flowMetrics.getFlowName(), key -> new Summary())
+			.add(flowMetrics);
+	}
+
+	/**
+	 * @return a copy of the metrics for every flow published so far, in the order they were published
+	 */
+	public List<FlowMetrics> getMetrics() {
+		return new ArrayList<>(metrics);
+	}
+
+	/**
+	 * @param entityName
+	 * @param flowName
+	 * @return a summary of every run of the given flow, or null if it hasn't been run
+	 */
+	public Summary getSummary(String entityName, String flowName) {
+		return summaries.get(entityName + ":" + flowName);
+	}
+
+	public void clear() {
+		metrics.clear();
+		summaries.clear();
+	}
+
+	/**
+	 * Aggregates the metrics for every run of a single flow.
+	 */
+	public static class Summary {
+
+		private long count;
+		private long totalDuration;
+		private long maxDuration;
+		private long totalDocumentsProcessed;
+
+		synchronized void add(FlowMetrics metrics) {
+			count++;
+			totalDuration += metrics.getDuration();
+			maxDuration = Math.max(maxDuration, metrics.getDuration());
+			totalDocumentsProcessed += metrics.getDocumentsProcessed();
+		}
+
+		public synchronized long getCount() {
+			return count;
+		}
+
+		public synchronized long getTotalDuration() {
+			return totalDuration;
+		}
+
+		public synchronized long getMaxDuration() {
+			return maxDuration;
+		}
+
+		public synchronized long getTotalDocumentsProcessed() {
+			return totalDocumentsProcessed;
+		}
+
+		public synchronized double getMeanDuration() {
+			return count > 0 ? (double) totalDuration / count : 0;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.marklogic.junit5.dhf;
+
+/**
+ * Receives the metrics captured by TestFlowRunner for each harmonize flow that it runs. Implementations must be
+ * thread-safe, as flows may be run concurrently.
+ */
+public interface FlowMetricsSink {
+
+	void publish(FlowMetrics metrics);
+}
@@ -0,0 +1,46 @@
+package com.marklogic.junit5.dhf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Appends the metrics for each flow to a file as a single line of JSON, which makes it easy for a CI build to collect
+ * the metrics from every test run and compare them over time.
+ */
+public class JsonFileFlowMetricsSink implements FlowMetricsSink {
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final File file;
+
+	public JsonFileFlowMetricsSink(File file) {
+		this.file = file;
+	}
+
+	@Override
+	public void publish(FlowMetrics metrics) {
+		try {
+			String json = objectMapper.writeValueAsString(metrics);
+			synchronized (this) {
+				File parent = file.getAbsoluteFile().getParentFile();
+				if (parent != null) {
+					parent.mkdirs();
+				}
+				try (Writer writer = new FileWriter(file, true)) {
+					writer.write(json);
+					writer.write(System.lineSeparator());
+				}
+			}
+		} catch (IOException ex) {
+			throw new RuntimeException("Unable to write flow metrics to file: " + file.getAbsolutePath() + "; cause: " + ex.getMessage(), ex);
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+}
@@ -0,0 +1,16 @@
+package com.marklogic.junit5.dhf;
+
+import com.marklogic.client.ext.helper.LoggingObject;
+
+/**
+ * Logs the metrics for each flow at the info level.
+ */
+public class LoggingFlowMetricsSink extends LoggingObject implements FlowMetricsSink {
+
+	@Override
+	public void publish(FlowMetrics metrics) {
+		if (logger.isInfoEnabled()) {
+			logger.info(metrics.toString());
+		}
+	}
+}
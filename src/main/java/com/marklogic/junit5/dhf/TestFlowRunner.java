@@ -2,6 +2,7 @@ package com.marklogic.junit5.dhf;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.datamovement.DataMovementManager;
 import com.marklogic.client.datamovement.JobTicket;
 import com.marklogic.client.ext.helper.LoggingObject;
 import com.marklogic.client.io.JacksonHandle;
@@ -13,20 +14,70 @@ import com.marklogic.hub.flow.FlowRunner;
 import com.marklogic.hub.flow.FlowType;
 import com.marklogic.hub.job.JobStatus;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Convenience class for simplifying the running of a harmonize flow within a test environment.
  */
 public class TestFlowRunner extends LoggingObject {
 
+	/**
+	 * Constructing a HubConfig is expensive, so each FlowManager - along with the HubConfig it depends on - is cached
+	 * for the lifetime of the JVM, keyed on project directory and environment name.
+	 */
+	private static final Map<String, FlowManager> flowManagers = new ConcurrentHashMap<>();
+
+	/**
+	 * Flows are cached for the lifetime of the JVM, keyed on the FlowManager key and the entity and flow names.
+	 */
+	private static final Map<String, Flow> flows = new ConcurrentHashMap<>();
+
+	/**
+	 * Used by runHarmonizeFlowAsync when no Executor has been set. Threads are daemon threads so that a flow that
+	 * never completes doesn't prevent the JVM from exiting.
+	 */
+	private static final Executor defaultExecutor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "test-flow-runner");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static final int MIN_AUTO_TUNED_BATCH_SIZE = 10;
+	private static final int MAX_AUTO_TUNED_BATCH_SIZE = 1000;
+
 	private FlowManager flowManager;
+	private String flowManagerKey;
 	private DatabaseClient sourceClient;
 	private DatabaseClient jobsClient;
 	private FlowRunnerCallback flowRunnerCallback;
 	private String testDatabaseName;
 	private boolean failOnHarmonizeFlowError = true;
+	private boolean failFast;
+	private Executor executor = defaultExecutor;
+
+	/**
+	 * A batch size or thread count of 0 means the DHF default is used, unless autoTune is true.
+	 */
+	private int batchSize;
+	private int threadCount;
+	private boolean autoTune;
+	private FlowMetricsSink flowMetricsSink;
+
+	/**
+	 * Holds the job report read while a flow run via runHarmonizeFlow is verified, keyed on job ID, so that the metrics
+	 * for the flow can reuse it instead of reading it again. An entry only exists while its flow is being verified.
+	 */
+	private final Map<String, AtomicReference<JsonNode>> jobReportsReadDuringVerification = new ConcurrentHashMap<>();
 
 	public TestFlowRunner(DatabaseClient sourceClient, String testDatabaseName) {
 		this(sourceClient, testDatabaseName, "local");
@@ -43,11 +94,29 @@ public class TestFlowRunner extends LoggingObject {
 		initializeFlowManager(environmentName);
 	}
 
+	/**
+	 * @param sourceClient     specifies the source database, which could be your staging or final database
+	 * @param testDatabaseName
+	 * @param environmentName
+	 * @param projectDirectory the directory of the DHF project
+	 */
+	public TestFlowRunner(DatabaseClient sourceClient, String testDatabaseName, String environmentName, String projectDirectory) {
+		this.sourceClient = sourceClient;
+		this.testDatabaseName = testDatabaseName;
+		initializeFlowManager(environmentName, projectDirectory);
+	}
+
 	/**
 	 * Constructs a FlowRunner to run the flow associated with the given entity and flow names.
 	 * <p>
 	 * If a FlowRunnerCallback has been set, it will be invoked after the FlowRunner is constructed but before the
 	 * Flow is run, providing a chance for a client to further configure the FlowRunner.
+	 * <p>
+	 * If failOnHarmonizeFlowError is true, the flow is verified as having succeeded. The source documents are counted
+	 * via countSourceDocuments before the flow is run. If any item is then reported as failed to the FlowRunner's
+	 * listeners, the flow fails; if every source document is reported as successful, the flow succeeded. In either
+	 * case, the job report is not read. Only when the listeners are inconclusive - e.g. because DHF failed to process
+	 * an entire batch, which is only recorded in the job report - is the job report read from the jobs database.
 	 *
 	 * @param entityName
 	 * @param flowName
@@ -55,7 +124,36 @@ public class TestFlowRunner extends LoggingObject {
 	 * @return
 	 */
 	public JobTicket runHarmonizeFlow(String entityName, String flowName, String... optionKeysAndValues) {
-		Flow harmonizeFlow = flowManager.getFlow(entityName, flowName, FlowType.HARMONIZE);
+		return runHarmonizeFlow(entityName, flowName, batchSize, threadCount, optionKeysAndValues);
+	}
+
+	/**
+	 * Same as runHarmonizeFlow, but with the given batch size and thread count overriding the ones set on this class.
+	 *
+	 * @param entityName
+	 * @param flowName
+	 * @param batchSize           0 to use the DHF default, or a value chosen via auto-tuning if enabled
+	 * @param threadCount         0 to use the DHF default, or a value chosen via auto-tuning if enabled
+	 * @param optionKeysAndValues
+	 * @return
+	 */
+	public JobTicket runHarmonizeFlow(String entityName, String flowName, int batchSize, int threadCount, String... optionKeysAndValues) {
+		Flow harmonizeFlow = getHarmonizeFlow(entityName, flowName);
+
+		long sourceCount = -1;
+		if (autoTune && (batchSize <= 0 || threadCount <= 0)) {
+			sourceCount = countSourceDocuments(entityName);
+			if (threadCount <= 0) {
+				threadCount = determineThreadCount(sourceCount);
+			}
+			if (batchSize <= 0) {
+				batchSize = determineBatchSize(sourceCount, threadCount);
+			}
+			if (logger.isInfoEnabled()) {
+				logger.info(String.format("Auto-tuned flow %s for %d source documents; batch size: %d; thread count: %d",
+					flowName, sourceCount, batchSize, threadCount));
+			}
+		}
 
 		FlowRunner flowRunner = flowManager.newFlowRunner()
 			.withFlow(harmonizeFlow)
@@ -64,35 +162,284 @@ public class TestFlowRunner extends LoggingObject {
 			.withSourceClient(sourceClient)
 			.withDestinationDatabase(testDatabaseName);
 
+		if (batchSize > 0) {
+			flowRunner.withBatchSize(batchSize);
+		}
+		if (threadCount > 0) {
+			flowRunner.withThreadCount(threadCount);
+		}
+
+		FlowItemTracker itemTracker = new FlowItemTracker();
+		flowRunner.onItemComplete(itemTracker);
+		flowRunner.onItemFailed(itemTracker);
+		FailFastListener failFastListener = null;
+		if (failFast) {
+			failFastListener = new FailFastListener(this::stopJob);
+			flowRunner.onItemFailed(failFastListener);
+		}
+
 		if (flowRunnerCallback != null) {
 			flowRunnerCallback.beforeFlowIsRun(flowRunner, entityName, flowName);
 		}
 
+		if (failOnHarmonizeFlowError && sourceCount < 0) {
+			sourceCount = countSourceDocuments(entityName);
+		}
+
+		FlowMetrics metrics = new FlowMetrics(entityName, flowName);
 		long start = System.currentTimeMillis();
+		metrics.setStartTime(start);
 		JobTicket jobTicket = flowRunner.run();
-		flowRunner.awaitCompletion();
-		logger.info("Finished flow " + flowName + "; duration: " + (System.currentTimeMillis() - start));
+		if (failFastListener != null) {
+			awaitFailureOrCompletion(flowRunner, jobTicket, failFastListener);
+		} else {
+			flowRunner.awaitCompletion();
+		}
+		long end = System.currentTimeMillis();
+		logger.info("Finished flow " + flowName + "; duration: " + (end - start));
 
-		if (failOnHarmonizeFlowError) {
-			verifyHarmonizeFlowSucceeded(jobTicket);
+		metrics.setJobId(jobTicket.getJobId());
+		metrics.setDuration(end - start);
+		metrics.setSuccessfulItems(itemTracker.getSuccessfulItems());
+		metrics.setFailedItems(itemTracker.getFailedItems());
+		if (itemTracker.getFirstItemTime() > 0) {
+			metrics.setTimeToFirstItem(itemTracker.getFirstItemTime() - start);
+		}
+
+		AtomicReference<JsonNode> jobReport = new AtomicReference<>();
+		jobReportsReadDuringVerification.put(jobTicket.getJobId(), jobReport);
+		try {
+			if (failOnHarmonizeFlowError) {
+				verifyHarmonizeFlowSucceeded(jobTicket, itemTracker, sourceCount);
+			}
+		} finally {
+			jobReportsReadDuringVerification.remove(jobTicket.getJobId());
+			metrics.setVerificationDuration(System.currentTimeMillis() - end);
+			if (flowMetricsSink != null) {
+				publishFlowMetrics(jobTicket, metrics, jobReport.get());
+			}
 		}
 
 		return jobTicket;
 	}
 
-	protected void initializeFlowManager(String environmentName) {
-		if (logger.isInfoEnabled()) {
-			logger.info("Initializing HubConfig and FlowManager for environment name: " + environmentName);
+	/**
+	 * Waits for the flow to complete on a separate thread, so that the calling thread can return as soon as the
+	 * FailFastListener reports the first failed item. The job is then stopped by the listener, and the calling thread
+	 * does not wait for in-flight batches to finish or for the job document to be written.
+	 *
+	 * @param flowRunner
+	 * @param jobTicket
+	 * @param failFastListener
+	 */
+	protected void awaitFailureOrCompletion(FlowRunner flowRunner, JobTicket jobTicket, FailFastListener failFastListener) {
+		Thread completionThread = new Thread(() -> {
+			try {
+				flowRunner.awaitCompletion();
+			} finally {
+				failFastListener.onFlowCompleted();
+			}
+		}, "flow-completion-" + jobTicket.getJobId());
+		completionThread.setDaemon(true);
+		completionThread.start();
+
+		failFastListener.setJobTicket(jobTicket);
+		try {
+			if (failFastListener.awaitFailureOrCompletion()) {
+				logger.info("Not waiting for job " + jobTicket.getJobId() + " to complete because item " +
+					failFastListener.getFailedItemId() + " failed and fail-fast is enabled");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for job " + jobTicket.getJobId() + " to complete", ex);
 		}
-		HubConfig dataHubConfig = HubConfigBuilder.newHubConfigBuilder(".")
-			.withPropertiesFromEnvironment(environmentName)
-			.build();
-		flowManager = FlowManager.create(dataHubConfig);
-		if (logger.isInfoEnabled()) {
-			logger.info("Initialized HubConfig and FlowManager for environment name: " + environmentName);
+	}
+
+	/**
+	 * Stops the given job via a DataMovementManager that is released afterwards; used when fail-fast is enabled.
+	 *
+	 * @param jobTicket
+	 */
+	protected void stopJob(JobTicket jobTicket) {
+		DataMovementManager dataMovementManager = sourceClient.newDataMovementManager();
+		try {
+			dataMovementManager.stopJob(jobTicket);
+		} finally {
+			dataMovementManager.release();
 		}
 	}
 
+	/**
+	 * Adds the batch counts from the job report to the given metrics and publishes them. Any failure is logged rather
+	 * than thrown, so that it cannot mask the outcome of verifying the flow.
+	 *
+	 * @param jobTicket
+	 * @param metrics
+	 * @param jobReport the job report if it was read while verifying the flow; otherwise, it is read now
+	 */
+	protected void publishFlowMetrics(JobTicket jobTicket, FlowMetrics metrics, JsonNode jobReport) {
+		try {
+			if (jobReport == null) {
+				jobReport = readJobReport(jobTicket);
+			}
+			if (jobReport != null) {
+				metrics.setSuccessfulBatches(jobReport.path("successfulBatches").asLong(-1));
+				metrics.setFailedBatches(jobReport.path("failedBatches").asLong(-1));
+			}
+			flowMetricsSink.publish(metrics);
+		} catch (RuntimeException ex) {
+			logger.warn("Unable to publish metrics for job " + jobTicket.getJobId() + "; cause: " + ex.getMessage(), ex);
+		}
+	}
+
+	/**
+	 * Runs the flow associated with the given entity and flow names on a thread provided by this class's Executor.
+	 * The returned future completes once the flow has completed and - if failOnHarmonizeFlowError is true - has been
+	 * verified as having succeeded; otherwise, it completes exceptionally.
+	 *
+	 * @param entityName
+	 * @param flowName
+	 * @param optionKeysAndValues
+	 * @return
+	 */
+	public CompletableFuture<JobTicket> runHarmonizeFlowAsync(String entityName, String flowName, String... optionKeysAndValues) {
+		return CompletableFuture.supplyAsync(() -> runHarmonizeFlow(entityName, flowName, optionKeysAndValues), executor);
+	}
+
+	/**
+	 * Runs the flows associated with the given entity and flow names concurrently, with no more than
+	 * maxConcurrentFlows running at any one time, and waits for all of them to complete. The flows must not depend on
+	 * one another. If any flow fails, the first failure is rethrown once every flow has completed.
+	 *
+	 * @param maxConcurrentFlows
+	 * @param entityAndFlowNames an entity name followed by a flow name, repeated for each flow to run
+	 * @return a JobTicket for each flow, in the order that the flows were given
+	 */
+	public List<JobTicket> runHarmonizeFlows(int maxConcurrentFlows, String... entityAndFlowNames) {
+		if (entityAndFlowNames.length % 2 != 0) {
+			throw new IllegalArgumentException("Each entity name must be followed by a flow name");
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(maxConcurrentFlows);
+		try {
+			List<CompletableFuture<JobTicket>> futures = new ArrayList<>();
+			for (int i = 0; i < entityAndFlowNames.length; i += 2) {
+				final String entityName = entityAndFlowNames[i];
+				final String flowName = entityAndFlowNames[i + 1];
+				futures.add(CompletableFuture.supplyAsync(() -> runHarmonizeFlow(entityName, flowName), executorService));
+			}
+
+			long start = System.currentTimeMillis();
+			try {
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture[]{})).join();
+			} catch (CompletionException ex) {
+				if (ex.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) ex.getCause();
+				}
+				throw ex;
+			}
+			logger.info("Finished " + futures.size() + " flows; duration: " + (System.currentTimeMillis() - start));
+
+			List<JobTicket> jobTickets = new ArrayList<>();
+			for (CompletableFuture<JobTicket> future : futures) {
+				jobTickets.add(future.join());
+			}
+			return jobTickets;
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * Returns the harmonize flow with the given entity and flow names, which is only retrieved from the FlowManager
+	 * the first time it's requested in the current JVM.
+	 *
+	 * @param entityName
+	 * @param flowName
+	 * @return
+	 */
+	protected Flow getHarmonizeFlow(String entityName, String flowName) {
+		return flows.computeIfAbsent(flowManagerKey + ":" + entityName + ":" + flowName,
+			key -> flowManager.getFlow(entityName, flowName, FlowType.HARMONIZE));
+	}
+
+	/**
+	 * Used for auto-tuning and for verifying a flow without reading its job report; a DHF harmonize flow by default
+	 * collects the URIs of the documents in the source database that are in a collection named after the entity.
+	 * Override this if a flow's collector returns a different set of items; if the count does not match the number
+	 * of items the flow processes, the flow is still verified, but only by reading its job report.
+	 *
+	 * @param entityName
+	 * @return
+	 */
+	protected long countSourceDocuments(String entityName) {
+		String count = sourceClient.newServerEval()
+			.javascript("var collection; cts.estimate(cts.collectionQuery(collection))")
+			.addVariable("collection", entityName)
+			.evalAs(String.class);
+		return Long.parseLong(count);
+	}
+
+	/**
+	 * Uses one thread per available processor, but no more threads than there are batches of a reasonable size.
+	 *
+	 * @param sourceCount
+	 * @return
+	 */
+	protected int determineThreadCount(long sourceCount) {
+		long usefulThreads = (sourceCount + MIN_AUTO_TUNED_BATCH_SIZE - 1) / MIN_AUTO_TUNED_BATCH_SIZE;
+		return (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), usefulThreads));
+	}
+
+	/**
+	 * Aims for several batches per thread so that threads stay busy when batches take different amounts of time,
+	 * while keeping the number of requests down when there are many source documents.
+	 *
+	 * @param sourceCount
+	 * @param threadCount
+	 * @return
+	 */
+	protected int determineBatchSize(long sourceCount, int threadCount) {
+		long batchSize = sourceCount / ((long) threadCount * 4);
+		return (int) Math.max(MIN_AUTO_TUNED_BATCH_SIZE, Math.min(MAX_AUTO_TUNED_BATCH_SIZE, batchSize));
+	}
+
+	protected void initializeFlowManager(String environmentName) {
+		initializeFlowManager(environmentName, ".");
+	}
+
+	/**
+	 * Obtains the FlowManager for the given environment name and project directory, only constructing a HubConfig
+	 * and FlowManager the first time they're needed in the current JVM.
+	 *
+	 * @param environmentName
+	 * @param projectDirectory
+	 */
+	protected void initializeFlowManager(String environmentName, String projectDirectory) {
+		flowManagerKey = projectDirectory + ":" + environmentName;
+		flowManager = flowManagers.computeIfAbsent(flowManagerKey, key -> {
+			if (logger.isInfoEnabled()) {
+				logger.info("Initializing HubConfig and FlowManager for environment name: " + environmentName);
+			}
+			HubConfig dataHubConfig = HubConfigBuilder.newHubConfigBuilder(projectDirectory)
+				.withPropertiesFromEnvironment(environmentName)
+				.build();
+			FlowManager newFlowManager = FlowManager.create(dataHubConfig);
+			if (logger.isInfoEnabled()) {
+				logger.info("Initialized HubConfig and FlowManager for environment name: " + environmentName);
+			}
+			return newFlowManager;
+		});
+	}
+
+	/**
+	 * Discards every FlowManager and Flow cached in the current JVM, e.g. after modifying a flow.
+	 */
+	public static void clearCache() {
+		flowManagers.clear();
+		flows.clear();
+	}
+
 	/**
 	 * Simple convenience method for converting a String array into a map.
 	 *
@@ -109,6 +456,47 @@ public class TestFlowRunner extends LoggingObject {
 		return options;
 	}
 
+	/**
+	 * Verifies the flow via the FlowRunner's listeners where they are conclusive. Any failed item fails the flow, and
+	 * the flow succeeded if every expected item was reported as successful, as no batch can then have failed. In
+	 * either case, the job report is not read. Otherwise - DHF does not report a batch that failed as a whole, or a
+	 * failure to collect the items, to the listeners - the job report is checked via
+	 * verifyHarmonizeFlowSucceeded(JobTicket).
+	 *
+	 * @param jobTicket
+	 * @param itemTracker
+	 * @param expectedItems the number of items the flow was expected to process, or -1 if unknown
+	 */
+	protected void verifyHarmonizeFlowSucceeded(JobTicket jobTicket, FlowItemTracker itemTracker, long expectedItems) {
+		if (itemTracker.getFailedItems() > 0) {
+			verifyHarmonizeFlowSucceeded(jobTicket, itemTracker);
+		} else if (expectedItems >= 0 && itemTracker.getSuccessfulItems() == expectedItems) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("All %d expected items succeeded for job %s; not reading the job report",
+					expectedItems, jobTicket.getJobId()));
+			}
+		} else {
+			verifyHarmonizeFlowSucceeded(jobTicket);
+		}
+	}
+
+	/**
+	 * Fails the flow if any item was reported as failed to the FlowRunner's listeners, which avoids reading the job
+	 * report. If no item failed, the flow may still have failed - DHF does not report a batch that failed as a whole
+	 * to the listeners - so unless every expected item succeeded, the job report must then be checked via
+	 * verifyHarmonizeFlowSucceeded(JobTicket).
+	 *
+	 * @param jobTicket
+	 * @param itemTracker
+	 */
+	protected void verifyHarmonizeFlowSucceeded(JobTicket jobTicket, FlowItemTracker itemTracker) {
+		if (itemTracker.getFailedItems() > 0) {
+			throw new RuntimeException(String.format("Harmonize flow failed; job ID: %s; successful items: %d; failed items: %d; " +
+					"first failed item IDs: %s; see the job report at %s for details", jobTicket.getJobId(),
+				itemTracker.getSuccessfulItems(), itemTracker.getFailedItems(), itemTracker.getFailedItemIds(), buildJobUri(jobTicket)));
+		}
+	}
+
 	/**
 	 * Reaches into the jobs database to find the job report associated with the given JobTicket. If it's determined
 	 * that the job failed, a RuntimeException is thrown.
@@ -116,19 +504,42 @@ public class TestFlowRunner extends LoggingObject {
 	 * @param jobTicket
 	 */
 	protected void verifyHarmonizeFlowSucceeded(JobTicket jobTicket) {
-		if (jobsClient == null) {
+		verifyHarmonizeFlowSucceeded(readJobReport(jobTicket));
+	}
+
+	/**
+	 * @param json the job report; if null, a warning is logged as the flow cannot be verified
+	 */
+	protected void verifyHarmonizeFlowSucceeded(JsonNode json) {
+		if (json == null) {
 			logger.warn("Unable to verify that the harmonize flow succeeded because no DatabaseClient is available for " +
 				"connecting to the jobs database; use setJobsClient to provide one.");
+			return;
 		}
 
-		final String jobsUri = buildJobUri(jobTicket);
-		JsonNode json = jobsClient.newJSONDocumentManager().read(jobsUri, new JacksonHandle()).get();
 		JobStatus status = JobStatus.valueOf(json.get("status").asText());
 		if (JobStatus.FINISHED_WITH_ERRORS.equals(status) || JobStatus.FAILED.equals(status) || JobStatus.STOP_ON_ERROR.equals(status)) {
 			throw new RuntimeException("Harmonize flow failed; contents of job report: " + json);
 		}
 	}
 
+	/**
+	 * @param jobTicket
+	 * @return the job report associated with the given JobTicket, or null if no DatabaseClient is available for
+	 * connecting to the jobs database
+	 */
+	protected JsonNode readJobReport(JobTicket jobTicket) {
+		if (jobsClient == null) {
+			return null;
+		}
+		JsonNode jobReport = jobsClient.newJSONDocumentManager().read(buildJobUri(jobTicket), new JacksonHandle()).get();
+		AtomicReference<JsonNode> reference = jobReportsReadDuringVerification.get(jobTicket.getJobId());
+		if (reference != null) {
+			reference.set(jobReport);
+		}
+		return jobReport;
+	}
+
 	/**
 	 * Knows how a URI is constructed for a JobTicket.
 	 *
@@ -159,7 +570,48 @@ public class TestFlowRunner extends LoggingObject {
 		this.failOnHarmonizeFlowError = failOnHarmonizeFlowError;
 	}
 
+	/**
+	 * @param failFast if true, the job running a flow is stopped as soon as the first item fails, and the flow fails
+	 *                 without waiting for in-flight batches to finish or for the job document to be written; by
+	 *                 default, DHF instead stops the job once a batch with a failed item completes, and the job is
+	 *                 waited on. The failure is reported when the flow is verified, which requires
+	 *                 failOnHarmonizeFlowError to be true
+	 */
+	public void setFailFast(boolean failFast) {
+		this.failFast = failFast;
+	}
+
 	public void setFlowRunnerCallback(FlowRunnerCallback flowRunnerCallback) {
 		this.flowRunnerCallback = flowRunnerCallback;
 	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public void setThreadCount(int threadCount) {
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * @param autoTune if true, a batch size or thread count that is not set is chosen based on the number of source
+	 *                 documents and the number of available processors
+	 */
+	public void setAutoTune(boolean autoTune) {
+		this.autoTune = autoTune;
+	}
+
+	/**
+	 * @param flowMetricsSink if not null, receives timing and throughput metrics for every flow that is run
+	 */
+	public void setFlowMetricsSink(FlowMetricsSink flowMetricsSink) {
+		this.flowMetricsSink = flowMetricsSink;
+	}
+
+	/**
+	 * @param executor used by runHarmonizeFlowAsync; defaults to a shared, unbounded pool of daemon threads
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
 }
@@ -30,7 +30,7 @@ public abstract class AbstractSpringMarkLogicTest extends AbstractMarkLogicTest
 
 	@Override
 	protected DatabaseClient getDatabaseClient() {
-		return databaseClientProvider.getDatabaseClient();
+		return trackWrites(databaseClientProvider.getDatabaseClient());
 	}
 
 }
@@ -2,6 +2,9 @@ package com.marklogic.junit5.spring;
 
 import com.marklogic.junit5.MarkLogicUnitTestArgumentsProvider;
 import com.marklogic.test.unit.TestModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
@@ -14,11 +17,24 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
  * To make use of this in your own project, simply create a class that extends this in your src/test/java directory (
  * or whatever you store the source of test classes) so that it'll be executed by your IDE / Maven / Gradle / etc.
  * Nothing further needs to be added to the class, it just needs to extend this class.
+ * <p>
+ * Test modules in different suites can be run in parallel by enabling JUnit 5 parallel execution - e.g. by setting
+ * junit.jupiter.execution.parallel.enabled=true in junit-platform.properties - with the degree of parallelism
+ * controlled by the junit.jupiter.execution.parallel.config.* parameters. Test modules in the same suite are always
+ * run one at a time, as each run includes the suite setup and teardown modules. When parallel execution is enabled,
+ * documents are deleted before the first test module runs instead of before every test module.
  */
 public abstract class MarkLogicUnitTestsTest extends AbstractSpringMarkLogicTest {
 
+	@BeforeEach
+	@Override
+	public void deleteDocumentsBeforeTestRuns() {
+		deleteDocumentsBeforeTestRunsUnlessParallel();
+	}
+
 	@ParameterizedTest
 	@ArgumentsSource(MarkLogicUnitTestArgumentsProvider.class)
+	@Execution(ExecutionMode.CONCURRENT)
 	public void test(TestModule testModule) {
 		runMarkLogicUnitTests(testModule);
 	}
@@ -0,0 +1,79 @@
+package com.marklogic.junit5;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonNodeTesterTest {
+
+	private static final String JSON = "{\"order\":{\"id\":1, \"note\":null, \"a/b\":\"slash\", \"items\":[" +
+		"{\"name\":\"Java\", \"tags\":[\"book\"]}," +
+		"{\"name\":\"Jazz\", \"tags\":[\"music\", \"vinyl\"]}" +
+		"]}, \"0\":\"zero\", \"ids\":{\"12345678901\":\"long\"}}";
+
+	@Test
+	public void matchesTreeEvaluation() {
+		JsonNodeTester tester = new JsonNodeTester("/order.json", JSON);
+		StreamingJsonNodeTester streaming = new StreamingJsonNodeTester("/order.json",
+			() -> new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)));
+
+		String[] paths = new String[]{
+			"", "/order", "/order/id", "/order/items", "/order/items/1/name", "/order/items/2", "/order/a~1b", "/0",
+			"$.order.items[*].name", "$.order.items[*].tags[*]", "$['order']['items'][0]['tags'][0]", "$.*", "/missing"
+		};
+		for (String path : paths) {
+			assertEquals(tester.getElementCount(path), streaming.getElementCount(path), "Count differs for: " + path);
+		}
+
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		counts.put("$.order.items[*]", 2);
+		counts.put("$.order.items[*].tags[*]", 3);
+		counts.put("/order/note", 1);
+		tester.assertElementCounts(counts);
+		streaming.assertElementCounts(counts);
+
+		for (String path : new String[]{"/order/id", "/order/note", "/order/a~1b", "/order/items/1/tags/1"}) {
+			assertEquals(tester.getElementValue(path), streaming.getElementValue(path), "Value differs for: " + path);
+		}
+	}
+
+	@Test
+	public void assertions() {
+		JsonNodeTester tester = new JsonNodeTester("/order.json", JSON);
+		tester.assertElementValue("$.order.items[*].name", "Jazz");
+		assertEquals("1", tester.getElementValue("/order/id"));
+		tester.assertElementExists("/order/items/0");
+		tester.assertElementMissing("No such value", "/order/items/2");
+		tester.assertElementCount("$.order.items[*].tags[*]", 3);
+		tester.getJsonNodeTester("/order/items/1").assertElementValue("/tags/0", "music");
+
+		assertThrows(AssertionError.class, () -> tester.assertElementValue("$.order.items[*].name", "Missing"));
+		assertThrows(AssertionError.class, () -> tester.assertElementExists("$.order.items[*]"));
+		assertThrows(IllegalArgumentException.class, () -> tester.getElementCount("$..name"));
+		assertThrows(IllegalArgumentException.class, () -> tester.getElementCount("order"));
+	}
+
+	@Test
+	public void overlongNumericTokens() {
+		JsonNodeTester tester = new JsonNodeTester("/order.json", JSON);
+		StreamingJsonNodeTester streaming = new StreamingJsonNodeTester("/order.json",
+			() -> new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals("long", tester.getElementValue("/ids/12345678901"), "A number too large to be an index should still match a property");
+		assertEquals("long", streaming.getElementValue("/ids/12345678901"));
+		assertEquals(0, tester.getElementCount("/order/items/12345678901"));
+		assertThrows(IllegalArgumentException.class, () -> tester.getElementCount("$.order.items[99999999999]"));
+	}
+
+	@Test
+	public void compiledPathsAreCached() {
+		assertSame(JsonPath.compile("$.order.items[*]"), JsonPath.compile("$.order.items[*]"));
+	}
+}
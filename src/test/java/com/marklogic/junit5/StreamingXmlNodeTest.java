@@ -0,0 +1,68 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Namespace;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StreamingXmlNodeTest {
+
+	private static final String XML = "<order xmlns:m='org:example'>" +
+		"<m:id>1</m:id>" +
+		"<items>" +
+		"<item type='book'><name>Java</name></item>" +
+		"<item type='music'><name>Jazz</name><item type='book'><name>Nested</name></item></item>" +
+		"<item><name><![CDATA[Other]]></name></item>" +
+		"</items>" +
+		"</order>";
+
+	private static final Namespace NS = Namespace.getNamespace("m", "org:example");
+
+	private StreamingXmlNode node = new StreamingXmlNode("/order.xml",
+		() -> new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)), NS);
+
+	@Test
+	public void matchesXmlNode() {
+		XmlNode xmlNode = new XmlNode(XML, NS);
+		String[] xpaths = new String[]{
+			"/order", "/order/m:id", "/order/items/item", "//item", "//item[@type='book']", "//item[@type]",
+			"/order/items/item[2]", "//item[1]", "/order/*/item/name", "//name", "/items", "//item//item"
+		};
+		for (String xpath : xpaths) {
+			assertEquals(xmlNode.getElementCount(xpath), node.getElementCount(xpath), "Count differs for: " + xpath);
+		}
+	}
+
+	@Test
+	public void assertions() {
+		node.assertElementExists("/order/m:id");
+		assertEquals("1", node.getElementValue("/order/m:id"));
+		node.assertElementValue("//item[@type='book']/name", "Nested");
+		node.assertElementValue("//name", "Other");
+		node.assertElementMissing("No such element", "/order/m:missing");
+		node.assertElementCount("//item", 4);
+
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		counts.put("//item", 4);
+		counts.put("//name", 4);
+		counts.put("/order/items/item[3]/name", 1);
+		node.assertElementCounts(counts);
+
+		counts.put("//m:id", 2);
+		assertThrows(AssertionError.class, () -> node.assertElementCounts(counts));
+		assertThrows(AssertionError.class, () -> node.assertElementValue("//name", "Missing"));
+	}
+
+	@Test
+	public void unsupportedXpath() {
+		assertThrows(IllegalArgumentException.class, () -> node.getElementCount("order"));
+		assertThrows(IllegalArgumentException.class, () -> node.getElementCount("/order[name='x']"));
+		assertThrows(IllegalArgumentException.class, () -> node.getElementCount("/x:order"));
+	}
+}
@@ -0,0 +1,31 @@
+package com.marklogic.junit5;
+
+import com.marklogic.test.unit.TestModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestModuleListCacheTest {
+
+	private TestModuleListCache cache = new TestModuleListCache();
+
+	@Test
+	public void parseTestModules() {
+		List<TestModule> list = cache.parseTestModules(Arrays.asList("suite1\ttest1.sjs", "suite2\ttest2.xqy"));
+		assertEquals(2, list.size());
+		assertEquals("suite1", list.get(0).getSuite());
+		assertEquals("test1.sjs", list.get(0).getTest());
+		assertEquals("suite2", list.get(1).getSuite());
+	}
+
+	@Test
+	public void malformedLines() {
+		assertNull(cache.parseTestModules(Arrays.asList("suite1\ttest1.sjs", "truncated")));
+		assertNull(cache.parseTestModules(Arrays.asList("suite1\t")));
+		assertNull(cache.parseTestModules(Arrays.asList("\ttest1.sjs")));
+	}
+}
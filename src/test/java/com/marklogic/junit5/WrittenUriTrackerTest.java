@@ -0,0 +1,44 @@
+package com.marklogic.junit5;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.Transaction;
+import com.marklogic.client.document.XMLDocumentManager;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WrittenUriTrackerTest {
+
+	@Test
+	public void test() {
+		List<String> modifiedUris = new ArrayList<>();
+		WrittenUriTracker tracker = new WrittenUriTracker(modifiedUris::add);
+		XMLDocumentManager mgr = tracker.wrap(newStubClient()).newXMLDocumentManager();
+		Transaction transaction = newStub(Transaction.class);
+
+		mgr.write("/1.xml", null);
+		mgr.delete("/2.xml");
+		mgr.delete(transaction, "/3.xml", "/4.xml");
+
+		assertEquals(new HashSet<>(Arrays.asList("/1.xml")), tracker.getUris());
+		assertEquals(Arrays.asList("/1.xml", "/2.xml", "/3.xml", "/4.xml"), modifiedUris,
+			"A delete within a transaction should be recorded via the URIs following the transaction");
+	}
+
+	private static DatabaseClient newStubClient() {
+		XMLDocumentManager mgr = newStub(XMLDocumentManager.class);
+		return (DatabaseClient) Proxy.newProxyInstance(DatabaseClient.class.getClassLoader(), new Class<?>[]{DatabaseClient.class},
+			(proxy, method, args) -> method.getName().equals("newXMLDocumentManager") ? mgr : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T newStub(Class<T> type) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> null);
+	}
+}
@@ -0,0 +1,75 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class XPathExpressionCacheTest {
+
+	@Test
+	public void test() {
+		XPathExpressionCache cache = new XPathExpressionCache(2);
+		Namespace ns = Namespace.getNamespace("m", "org:example");
+
+		XPathExpression<Element> expr = cache.getExpression("/m:message", Filters.element(), ns);
+		assertSame(expr, cache.getExpression("/m:message", Filters.element(), ns));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		assertNotSame(expr, cache.getExpression("/m:message", Filters.element(), Namespace.getNamespace("other", "org:example")),
+			"The namespace prefix is part of the key, not just the URI");
+		assertNotSame(expr, cache.getExpression("/m:message", Filters.fpassthrough(), ns),
+			"The filter is part of the key");
+		assertEquals(2, cache.size(), "The least recently used expression should have been evicted");
+		assertEquals(3, cache.getMissCount());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+	}
+
+	@Test
+	public void concurrentEvaluation() throws Exception {
+		XPathExpressionCache cache = new XPathExpressionCache();
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			final int count = i + 1;
+			tasks.add(() -> {
+				Document doc = new Document(new Element("items"));
+				for (int j = 0; j < count; j++) {
+					doc.getRootElement().addContent(new Element("item"));
+				}
+				int total = 0;
+				for (int j = 0; j < 100; j++) {
+					total += cache.evaluate("/items/item", Filters.element(), doc).size();
+				}
+				return total / 100;
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> futures = executor.invokeAll(tasks);
+			for (int i = 0; i < futures.size(); i++) {
+				assertEquals(i + 1, (int) futures.get(i).get(), "Each thread should only see the results for its own document");
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, cache.size(), "The expression should only have been cached once");
+	}
+}
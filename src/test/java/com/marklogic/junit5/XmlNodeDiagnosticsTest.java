@@ -0,0 +1,48 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Element;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XmlNodeDiagnosticsTest {
+
+	@AfterEach
+	public void restoreDefault() {
+		XmlNode.setMaxDiagnosticLength(XmlNode.DEFAULT_MAX_DIAGNOSTIC_LENGTH);
+	}
+
+	@Test
+	public void output() {
+		StringBuilder xml = new StringBuilder("<items>");
+		for (int i = 0; i < 1000; i++) {
+			xml.append("<item>").append(i).append("</item>");
+		}
+		XmlNode node = new XmlNode(xml.append("</items>").toString());
+
+		XmlNode.setMaxDiagnosticLength(100);
+		String output = node.toBoundedString(node.getInternalDoc());
+		assertTrue(output.length() < 150, "The output should have been truncated: " + output);
+		assertTrue(output.endsWith("(truncated)"));
+
+		String description = node.describeElements(node.evaluateForElements("/items/item"));
+		assertTrue(description.length() < 150, "The description should have been truncated: " + description);
+
+		Element small = new Element("small");
+		assertEquals("<small />", node.toBoundedString(small).trim(), "Output within the limit should not be truncated");
+		assertEquals("[[Element: <small/>]]", node.describeElements(Collections.singletonList(small)));
+	}
+
+	@Test
+	public void failuresStillReportMessages() {
+		XmlNode node = new XmlNode("<items><item>1</item></items>");
+		AssertionError error = assertThrows(AssertionError.class, () -> node.assertElementValue("Custom message", "/items/item", "2"));
+		assertTrue(error.getMessage().startsWith("Custom message"));
+		assertTrue(error.getMessage().contains("No element has value '2'"));
+	}
+}
@@ -0,0 +1,40 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Namespace;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class XmlNodeParsingTest {
+
+	private static final Namespace NS = Namespace.getNamespace("m", "org:example");
+
+	@Test
+	public void inputStream() {
+		String xml = "<!DOCTYPE message SYSTEM 'http://localhost/does-not-exist.dtd'>" +
+			"<message xmlns='org:example'><text>Hello</text></message>";
+		XmlNode node = new XmlNode("/message.xml", new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), NS);
+		assertEquals("/message.xml", node.getUri());
+		assertEquals("Hello", node.getElementValue("/m:message/m:text"),
+			"The external DTD should not have been loaded, as it doesn't exist");
+
+		XmlNode another = new XmlNode("/another.xml", new ByteArrayInputStream("<message/>".getBytes(StandardCharsets.UTF_8)));
+		another.assertElementExists("/message");
+	}
+
+	@Test
+	public void domDocument() throws Exception {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		Document doc = factory.newDocumentBuilder().parse(new ByteArrayInputStream(
+			"<message xmlns='org:example'><text>Hello</text></message>".getBytes(StandardCharsets.UTF_8)));
+
+		XmlNode node = new XmlNode("/message.xml", doc, NS);
+		assertEquals("Hello", node.getElementValue("/m:message/m:text"));
+	}
+}
@@ -0,0 +1,37 @@
+package com.marklogic.junit5;
+
+import org.jdom2.Namespace;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XmlNodeViewTest {
+
+	@Test
+	public void test() {
+		XmlNode xml = new XmlNode("/orders.xml", "<orders xmlns='org:example'>" +
+			"<order id='1'><item>Java</item></order>" +
+			"<order id='2'><item>Jazz</item><item>Vinyl</item></order>" +
+			"</orders>", Namespace.getNamespace("m", "org:example"));
+
+		List<XmlNode> orders = xml.getXmlNodeViews("/m:orders/m:order");
+		assertEquals(2, orders.size());
+		orders.get(0).assertElementValue("m:item", "Java");
+		orders.get(1).assertElementCount("./m:item", 2);
+		assertEquals("2", orders.get(1).getAttributeValue(".", "id"));
+		orders.get(1).assertElementCount("/m:orders/m:order", 2);
+
+		assertSame(xml.getInternalDoc(), orders.get(0).getInternalDoc(), "A view should share the document of its parent");
+		assertEquals("/orders.xml", orders.get(0).getUri());
+		xml.assertElementCount("/m:orders/m:order/m:item", 3);
+
+		XmlNode item = orders.get(1).getXmlNodeView("m:item[2]");
+		assertEquals("Vinyl", item.getElementValue("."));
+		assertTrue(item.getPrettyXml().contains("Vinyl"));
+		assertTrue(!item.getPrettyXml().contains("Jazz"), "A view should only print its own element");
+	}
+}
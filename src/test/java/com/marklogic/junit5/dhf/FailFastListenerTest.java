@@ -0,0 +1,65 @@
+package com.marklogic.junit5.dhf;
+
+import com.marklogic.client.datamovement.JobTicket;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FailFastListenerTest {
+
+	@Test
+	public void failureBeforeJobTicketIsSet() throws Exception {
+		List<JobTicket> stoppedJobs = new ArrayList<>();
+		FailFastListener listener = new FailFastListener(stoppedJobs::add);
+		JobTicket jobTicket = newJobTicket();
+
+		listener.processFailure("job1", "/1.json");
+		assertTrue(stoppedJobs.isEmpty(), "The job cannot be stopped until its ticket is known");
+		assertTrue(listener.awaitFailureOrCompletion(), "A waiting thread should be released by the first failure");
+
+		listener.setJobTicket(jobTicket);
+		listener.processFailure("job1", "/2.json");
+		assertEquals(1, stoppedJobs.size(), "The job should only be stopped once");
+		assertSame(jobTicket, stoppedJobs.get(0));
+		assertEquals("/1.json", listener.getFailedItemId());
+		assertTrue(listener.isStopped());
+	}
+
+	@Test
+	public void failureAfterJobTicketIsSet() throws Exception {
+		List<JobTicket> stoppedJobs = new ArrayList<>();
+		FailFastListener listener = new FailFastListener(stoppedJobs::add);
+
+		listener.setJobTicket(newJobTicket());
+		assertTrue(stoppedJobs.isEmpty());
+
+		listener.processFailure("job1", "/1.json");
+		assertEquals(1, stoppedJobs.size());
+		assertTrue(listener.awaitFailureOrCompletion());
+	}
+
+	@Test
+	public void noFailure() throws Exception {
+		List<JobTicket> stoppedJobs = new ArrayList<>();
+		FailFastListener listener = new FailFastListener(stoppedJobs::add);
+
+		listener.setJobTicket(newJobTicket());
+		listener.onFlowCompleted();
+
+		assertFalse(listener.awaitFailureOrCompletion());
+		assertFalse(listener.isStopped());
+		assertTrue(stoppedJobs.isEmpty());
+	}
+
+	private static JobTicket newJobTicket() {
+		return (JobTicket) Proxy.newProxyInstance(JobTicket.class.getClassLoader(), new Class<?>[]{JobTicket.class},
+			(proxy, method, args) -> method.getName().equals("getJobId") ? "job1" : null);
+	}
+}
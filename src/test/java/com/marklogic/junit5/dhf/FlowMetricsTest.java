@@ -0,0 +1,63 @@
+package com.marklogic.junit5.dhf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class FlowMetricsTest {
+
+	@Test
+	public void jsonFileSink() throws Exception {
+		File file = File.createTempFile("flow-metrics", ".json");
+		file.deleteOnExit();
+		file.delete();
+
+		JsonFileFlowMetricsSink sink = new JsonFileFlowMetricsSink(file);
+		sink.publish(newMetrics("Person", "harmonizePerson", 2000, 90, 10));
+		sink.publish(newMetrics("Order", "harmonizeOrder", 1000, 50, 0));
+
+		List<String> lines = Files.readAllLines(file.toPath());
+		assertEquals(2, lines.size(), "Each flow should be written as a single line of JSON");
+
+		JsonNode json = new ObjectMapper().readTree(lines.get(0));
+		assertEquals("harmonizePerson", json.get("flowName").asText());
+		assertEquals(100, json.get("documentsProcessed").asLong());
+		assertEquals(50.0, json.get("documentsPerSecond").asDouble());
+		assertEquals(10, json.get("failedItems").asLong());
+	}
+
+	@Test
+	public void registry() {
+		FlowMetricsRegistry registry = new FlowMetricsRegistry();
+		registry.publish(newMetrics("Person", "harmonizePerson", 2000, 90, 10));
+		registry.publish(newMetrics("Person", "harmonizePerson", 1000, 100, 0));
+		registry.publish(newMetrics("Order", "harmonizeOrder", 500, 10, 0));
+
+		assertEquals(3, registry.getMetrics().size());
+		FlowMetricsRegistry.Summary summary = registry.getSummary("Person", "harmonizePerson");
+		assertEquals(2, summary.getCount());
+		assertEquals(3000, summary.getTotalDuration());
+		assertEquals(2000, summary.getMaxDuration());
+		assertEquals(1500.0, summary.getMeanDuration());
+		assertEquals(200, summary.getTotalDocumentsProcessed());
+		assertNull(registry.getSummary("Person", "otherFlow"));
+
+		registry.clear();
+		assertEquals(0, registry.getMetrics().size());
+	}
+
+	private FlowMetrics newMetrics(String entityName, String flowName, long duration, long successfulItems, long failedItems) {
+		FlowMetrics metrics = new FlowMetrics(entityName, flowName);
+		metrics.setDuration(duration);
+		metrics.setSuccessfulItems(successfulItems);
+		metrics.setFailedItems(failedItems);
+		return metrics;
+	}
+}
@@ -0,0 +1,67 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.StringHandle;
+import com.marklogic.junit5.BatchedDocumentAssertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.MultipleFailuresError;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchedDocumentAssertionsTest extends AbstractSpringMarkLogicTest {
+
+	@Test
+	public void test() {
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("red");
+		metadata.getPermissions().add("rest-reader", DocumentMetadataHandle.Capability.READ);
+		getDatabaseClient().newXMLDocumentManager().write("/test/1.xml", metadata, new StringHandle("<hello>one</hello>"));
+		getDatabaseClient().newXMLDocumentManager().write("/test/2.xml", metadata, new StringHandle("<hello>two</hello>"));
+		getDatabaseClient().newJSONDocumentManager().write("/test/3.json", metadata,
+			new StringHandle("{\"hello\":{\"colors\":[\"red\", \"blue\"], \"size\":3}}"));
+
+		BatchedDocumentAssertions assertions = newBatchedDocumentAssertions();
+		assertions.setBatchSize(2);
+		assertions.forDocuments("/test/1.xml", "/test/2.xml")
+			.assertElementExists("/hello")
+			.assertInCollections("red")
+			.assertNotInCollections("blue")
+			.assertPermissionExists("rest-reader", "read");
+		assertions.forDocument("/test/1.xml").assertElementValue("/hello", "one");
+		assertions.forDocument("/test/3.json")
+			.assertJsonValue("/hello/colors/1", "blue")
+			.assertJsonValue("/hello/size", "3")
+			.assertJsonExists("/hello/colors")
+			.assertInCollections("red");
+		assertions.verify();
+
+		assertions.forDocuments("/test/1.xml", "/test/2.xml").assertElementValue("/hello", "one").assertInCollections("blue");
+		assertions.forDocument("/test/missing.xml").assertElementExists("/hello");
+		MultipleFailuresError error = assertThrows(MultipleFailuresError.class, () -> assertions.verify());
+		assertEquals(4, error.getFailures().size(), "Both documents should fail on collection, one on value, and the " +
+			"missing document should fail as well");
+	}
+
+	@Test
+	public void jsonPointerToXPath() {
+		assertEquals("(/hello/colors/node('1') | /hello/colors[2])", BatchedDocumentAssertions.jsonPointerToXPath("/hello/colors/1"));
+		assertEquals("/node('a b')/node('c/d')", BatchedDocumentAssertions.jsonPointerToXPath("/a b/c~1d"));
+		assertEquals("(/node('0') | /array-node()/node()[1])/id", BatchedDocumentAssertions.jsonPointerToXPath("/0/id"));
+		assertEquals("/a/node('99999999999')", BatchedDocumentAssertions.jsonPointerToXPath("/a/99999999999"),
+			"A number too large to be an array index can only be a property name");
+	}
+
+	@Test
+	public void numericPropertyNames() {
+		getDatabaseClient().newJSONDocumentManager().write("/test/numeric.json",
+			new StringHandle("{\"a\":{\"1\":\"x\", \"99999999999\":\"y\"}, \"b\":[\"first\", \"second\"]}"));
+
+		BatchedDocumentAssertions assertions = newBatchedDocumentAssertions();
+		assertions.forDocument("/test/numeric.json")
+			.assertJsonValue("/a/1", "x")
+			.assertJsonValue("/a/99999999999", "y")
+			.assertJsonValue("/b/1", "second");
+		assertions.verify();
+	}
+}
@@ -0,0 +1,39 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.document.XMLDocumentManager;
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.StringHandle;
+import com.marklogic.junit5.DocumentTester;
+import com.marklogic.junit5.XmlNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BulkReadTest extends AbstractSpringMarkLogicTest {
+
+	@Test
+	public void test() {
+		XMLDocumentManager mgr = getDatabaseClient().newXMLDocumentManager();
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("red");
+		metadata.getPermissions().add("rest-reader", DocumentMetadataHandle.Capability.READ);
+		mgr.write("/test/1.xml", metadata, new StringHandle("<hello>one</hello>"));
+		mgr.write("/test/2.xml", metadata, new StringHandle("<hello>two</hello>"));
+		getDatabaseClient().newJSONDocumentManager().write("/test/3.json", metadata, new StringHandle("{\"hello\":\"three\"}"));
+
+		Map<String, DocumentTester> docs = readDocuments("/test/2.xml", "/test/1.xml", "/test/3.json");
+		assertEquals("/test/2.xml", docs.keySet().iterator().next(), "The documents should be in the order of the given URIs");
+		docs.get("/test/1.xml").assertInCollections("red").assertNotInCollections("blue")
+			.getXmlNode().assertElementValue("/hello", "one");
+		docs.get("/test/3.json").getPermissionsTester().assertReadPermissionExists("rest-reader");
+		assertEquals("three", docs.get("/test/3.json").getJsonNode().get("hello").asText());
+
+		List<XmlNode> xmlNodes = readXmlDocuments("/test/1.xml", "/test/2.xml");
+		xmlNodes.get(1).assertElementValue("/hello", "two");
+
+		assertEquals(3, readDocumentsInCollection("red", 3).size());
+	}
+}
@@ -0,0 +1,46 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.StringHandle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Each test writes a different document to the same collection; if the document written by whichever test runs first
+ * were not deleted, the collection would have two documents in it when the second test runs.
+ */
+public class DirtyTrackingTest extends AbstractSpringMarkLogicTest {
+
+	@Override
+	protected boolean isDirtyTrackingEnabled() {
+		return true;
+	}
+
+	@Test
+	public void firstTest() {
+		writeAndVerify("/test/1.xml");
+	}
+
+	@Test
+	public void secondTest() {
+		writeAndVerify("/test/2.xml");
+	}
+
+	@Test
+	public void untrackedWrite() {
+		assertFalse(untrackedDocumentsExist());
+		getDatabaseClient().newServerEval()
+			.javascript("declareUpdate(); xdmp.documentInsert('/test/untracked.json', {'hello': 'world'})")
+			.evalAs(String.class);
+		assertTrue(untrackedDocumentsExist(), "The next test method to run should delete all documents");
+	}
+
+	private void writeAndVerify(String uri) {
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("tracked");
+		getDatabaseClient().newXMLDocumentManager().write(uri, metadata, new StringHandle("<hello>world</hello>"));
+		assertCollectionSize("tracked", 1);
+	}
+}
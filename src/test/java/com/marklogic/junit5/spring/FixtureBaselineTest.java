@@ -0,0 +1,65 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.document.XMLDocumentManager;
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.StringHandle;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Each test modifies a baseline document, deletes another one, and adds a new one; whichever test runs second
+ * verifies that the baseline was restored before it ran. The merge timestamp set when the baseline is captured is
+ * restored once both tests have run.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FixtureBaselineTest extends AbstractSpringMarkLogicTest {
+
+	@Override
+	protected String getFixtureBaselineName() {
+		return "fixture-baseline-test";
+	}
+
+	@Override
+	protected boolean isMergeTimestampSetForFixtureBaseline() {
+		return true;
+	}
+
+	@AfterAll
+	public void restoreMergeTimestamp() {
+		discardFixtureBaseline();
+	}
+
+	@Override
+	protected void loadFixtureBaseline() {
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("baseline");
+		XMLDocumentManager mgr = getDatabaseClient().newXMLDocumentManager();
+		mgr.write("/baseline/1.xml", metadata, new StringHandle("<hello>one</hello>"));
+		mgr.write("/baseline/2.xml", metadata, new StringHandle("<hello>two</hello>"));
+	}
+
+	@Test
+	public void firstTest() {
+		verifyAndModifyBaseline();
+	}
+
+	@Test
+	public void secondTest() {
+		verifyAndModifyBaseline();
+	}
+
+	private void verifyAndModifyBaseline() {
+		assertCollectionSize("baseline", 2);
+		readXmlDocument("/baseline/1.xml", "baseline").assertElementValue("/hello", "one");
+		readXmlDocument("/baseline/2.xml", "baseline").assertElementValue("/hello", "two");
+		assertCollectionSize("added", 0);
+
+		XMLDocumentManager mgr = getDatabaseClient().newXMLDocumentManager();
+		mgr.write("/baseline/1.xml", new StringHandle("<hello>modified</hello>"));
+		mgr.delete("/baseline/2.xml");
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("added");
+		mgr.write("/added.xml", metadata, new StringHandle("<hello>added</hello>"));
+	}
+}
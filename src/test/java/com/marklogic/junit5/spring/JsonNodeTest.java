@@ -15,5 +15,8 @@ public class JsonNodeTest extends AbstractSpringMarkLogicTest {
 
 		JsonNode json = readJsonDocument("/test/1.json");
 		assertEquals("Hello world", json.get("message").asText());
+
+		readJsonNodeTester("/test/1.json").assertElementValue("/message", "Hello world");
+		readJsonDocumentAsStream("/test/1.json").assertElementValue("$.message", "Hello world");
 	}
 }
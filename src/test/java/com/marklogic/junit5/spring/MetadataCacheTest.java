@@ -0,0 +1,36 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.document.XMLDocumentManager;
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.StringHandle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MetadataCacheTest extends AbstractSpringMarkLogicTest {
+
+	@Override
+	protected boolean isMetadataCacheEnabled() {
+		return true;
+	}
+
+	@Test
+	public void test() {
+		XMLDocumentManager mgr = getDatabaseClient().newXMLDocumentManager();
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("red");
+		metadata.getPermissions().add("rest-reader", DocumentMetadataHandle.Capability.READ);
+		mgr.write("/test/1.xml", metadata, new StringHandle("<hello>world</hello>"));
+
+		assertInCollections("/test/1.xml", "red");
+		assertNotInCollections("/test/1.xml", "blue");
+		readDocumentPermissions("/test/1.xml").assertReadPermissionExists("rest-reader");
+		assertSame(readDocumentMetadata("/test/1.xml"), readDocumentMetadata("/test/1.xml"));
+
+		metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("blue");
+		mgr.write("/test/1.xml", metadata, new StringHandle("<hello>world</hello>"));
+		assertInCollections("/test/1.xml", "blue");
+		assertNotInCollections("/test/1.xml", "red");
+	}
+}
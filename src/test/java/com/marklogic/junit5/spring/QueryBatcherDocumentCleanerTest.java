@@ -0,0 +1,34 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.document.XMLDocumentManager;
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.StringHandle;
+import com.marklogic.junit5.DeleteDocumentsWithQueryBatcher;
+import com.marklogic.junit5.QueryBatcherDocumentCleaner;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DeleteDocumentsWithQueryBatcher(batchSize = 2, threadCount = 2)
+public class QueryBatcherDocumentCleanerTest extends AbstractSpringMarkLogicTest {
+
+	@Test
+	public void test() {
+		assertTrue(getDocumentCleaner() instanceof QueryBatcherDocumentCleaner);
+
+		XMLDocumentManager mgr = getDatabaseClient().newXMLDocumentManager();
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("red");
+		for (int i = 1; i <= 3; i++) {
+			mgr.write("/test/red" + i + ".xml", metadata, new StringHandle("<hello>red</hello>"));
+		}
+		mgr.write("/test/blue.xml", new StringHandle("<hello>blue</hello>"));
+
+		QueryBatcherDocumentCleaner cleaner = new QueryBatcherDocumentCleaner(2, 2, "red");
+		cleaner.deleteDocuments(getDatabaseClient());
+		assertEquals(3, cleaner.getLastDeletedCount());
+		assertCollectionSize("red", 0);
+		readXmlDocument("/test/blue.xml").assertElementValue("/hello", "blue");
+	}
+}
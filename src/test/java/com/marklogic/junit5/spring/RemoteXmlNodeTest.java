@@ -0,0 +1,59 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.io.StringHandle;
+import com.marklogic.junit5.MarkLogicNamespaceProvider;
+import com.marklogic.junit5.NamespaceProvider;
+import com.marklogic.junit5.RemoteXmlNode;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.MultipleFailuresError;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RemoteXmlNodeTest extends AbstractSpringMarkLogicTest {
+
+	@Override
+	protected NamespaceProvider getNamespaceProvider() {
+		return new MarkLogicNamespaceProvider("m", "org:example");
+	}
+
+	@Test
+	public void test() {
+		getDatabaseClient().newXMLDocumentManager().write("/test/1.xml",
+			new StringHandle("" +
+				"<message xmlns='org:example'>" +
+				"<color important='true'>red</color>" +
+				"<color>blue</color>" +
+				"<size>medium</size>" +
+				"</message>"));
+
+		RemoteXmlNode xml = newRemoteXmlNode("/test/1.xml");
+		xml.assertElementValue("/m:message/m:size", "medium")
+			.assertElementValue("/m:message/m:color", "blue")
+			.assertElementExists("/m:message/m:color[@important = 'true']")
+			.assertElementMissing("Should not exist", "/m:message/m:missing")
+			.assertElementCount("/m:message/m:color", 2)
+			.verify();
+
+		assertEquals("medium", xml.getElementValue("/m:message/m:size"));
+		assertEquals(2, xml.getElementCount("/m:message/m:color"));
+
+		MultipleFailuresError error = assertThrows(MultipleFailuresError.class, () -> xml
+			.assertElementValue("/m:message/m:size", "large")
+			.assertElementCount("/m:message/m:color", 3)
+			.assertElementExists("/m:message/m:size")
+			.verify());
+		assertEquals(2, error.getFailures().size(), "Every failed assertion should be reported at once");
+
+		assertThrows(AssertionError.class, () -> newRemoteXmlNode("/test/missing.xml").assertElementExists("/m:message").verify());
+	}
+
+	@Test
+	public void unverifiedAssertionsFailTheTest() {
+		newRemoteXmlNode("/test/1.xml").assertElementExists("/m:message");
+
+		AssertionError error = assertThrows(AssertionError.class, () -> failOnUnverifiedRemoteXmlNodesAfterTestRuns());
+		assertTrue(error.getMessage().contains("/test/1.xml"), "The unverified document should be identified");
+	}
+}
@@ -0,0 +1,42 @@
+package com.marklogic.junit5.spring;
+
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.StringHandle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Each test writes a different document to the same collection; if the transaction for whichever test runs first
+ * were not rolled back, the collection would have two documents in it when the second test runs.
+ */
+public class TransactionIsolationTest extends AbstractSpringMarkLogicTest {
+
+	@Override
+	protected boolean isTransactionIsolationEnabled() {
+		return true;
+	}
+
+	@Test
+	public void firstTest() {
+		writeAndVerify("/test/1.xml");
+	}
+
+	@Test
+	public void secondTest() {
+		writeAndVerify("/test/2.xml");
+	}
+
+	private void writeAndVerify(String uri) {
+		assertNotNull(getTransaction());
+
+		DocumentMetadataHandle metadata = new DocumentMetadataHandle();
+		metadata.getCollections().addAll("isolated");
+		getDatabaseClient().newXMLDocumentManager().write(uri, metadata, new StringHandle("<hello>world</hello>"), getTransaction());
+
+		readXmlDocument(uri, "isolated").assertElementValue("/hello", "world");
+		assertCollectionSize("isolated", 1);
+		assertEquals(uri, getUrisInCollection("isolated", 1).get(0));
+	}
+}
@@ -7,6 +7,9 @@ import com.marklogic.junit5.XmlNode;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -36,6 +39,13 @@ public class XmlNodeTest extends AbstractSpringMarkLogicTest {
 		assertEquals("true", xml.getAttributeValue("/m:message/m:color[. = 'red']", "important"));
 		xml.assertElementExists("/m:message");
 		xml.assertElementCount("/m:message/m:color", 2);
+		xml.assertElementCount("/m:message/m:parent/m:kid", 1);
+
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		counts.put("/m:message/m:color", 2);
+		counts.put("/m:message/m:size", 1);
+		counts.put("/m:message/m:missing", 0);
+		xml.assertElementCounts(counts);
 
 		xml.getXmlNode("/m:message/m:parent").assertElementExists("/m:parent/m:kid[. = 'hello']");
 